@@ -0,0 +1,16 @@
+package eu.europa.ec.dgc.validation.certlogic;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * CertLogic expression compiled to a tree of closures.
+ */
+@FunctionalInterface
+public interface CompiledExpression {
+    /**
+     * evaluate expression.
+     * @param data data
+     * @return result
+     */
+    JsonNode evaluate(JsonNode data);
+}
@@ -0,0 +1,61 @@
+package eu.europa.ec.dgc.validation.certlogic;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import dgca.verifier.app.engine.JsonLogicValidator;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JsonLogicValidator evaluating rule logic through compiled closures.
+ * Rules are compiled once when the rules snapshot is built and hand their compiled expression over in the
+ * logic node (see {@link CompiledLogic}), evaluation needs neither a lookup nor a lock. Logic which is not
+ * compiled, results which are not boolean and compiled evaluations failing with an exception are handed to
+ * the fallback validator.
+ */
+@Slf4j
+public class CompiledJsonLogicValidator implements JsonLogicValidator {
+    private final JsonLogicValidator fallback;
+    private final AtomicLong compiledEvaluations = new AtomicLong();
+    private final AtomicLong fallbackEvaluations = new AtomicLong();
+
+    /**
+     * constructor.
+     * @param fallback validator used for logic which is not compiled and results the compiled rules can not map
+     */
+    public CompiledJsonLogicValidator(JsonLogicValidator fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Boolean isDataValid(JsonNode rule, JsonNode data) {
+        if (!(rule instanceof CompiledLogic)) {
+            return fallback(rule, data);
+        }
+        JsonNode result;
+        try {
+            result = ((CompiledLogic) rule).getExpression().evaluate(data);
+        } catch (RuntimeException e) {
+            log.debug("compiled rule evaluation failed, using fallback: {}", e.getMessage());
+            return fallback(rule, data);
+        }
+        if (result instanceof BooleanNode) {
+            compiledEvaluations.incrementAndGet();
+            return result.booleanValue();
+        }
+        return fallback(rule, data);
+    }
+
+    private Boolean fallback(JsonNode rule, JsonNode data) {
+        fallbackEvaluations.incrementAndGet();
+        return fallback.isDataValid(rule, data);
+    }
+
+    public long getCompiledEvaluations() {
+        return compiledEvaluations.get();
+    }
+
+    public long getFallbackEvaluations() {
+        return fallbackEvaluations.get();
+    }
+}
@@ -0,0 +1,63 @@
+package eu.europa.ec.dgc.validation.certlogic;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import dgca.verifier.app.engine.data.Rule;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Rule logic carrying its compiled expression.
+ * The CertLogic engine only hands the logic node of a rule to the {@link CompiledJsonLogicValidator}, so the
+ * compiled expression travels inside the logic node. The node has the fields of the original logic and is
+ * equal to it, interpreting it yields the same result as interpreting the original logic.
+ */
+public final class CompiledLogic extends ObjectNode {
+    private static final long serialVersionUID = 1L;
+
+    private final transient CompiledExpression expression;
+
+    private CompiledLogic(ObjectNode logic, CompiledExpression expression) {
+        super(JsonNodeFactory.instance, fields(logic));
+        this.expression = expression;
+    }
+
+    /**
+     * compile the logic of a rule.
+     * @param rule rule
+     * @return rule with compiled logic, the rule itself if the logic is no CertLogic operation
+     */
+    public static Rule compile(Rule rule) {
+        return compile(rule, null);
+    }
+
+    /**
+     * compile the logic of a rule specialised for value sets.
+     * The rule must only be evaluated on data whose external.valueSets equal the value sets.
+     * @param rule rule
+     * @param valueSets value sets (external.valueSets) or null if unknown
+     * @return rule with compiled logic, the rule itself if the logic is no CertLogic operation
+     */
+    public static Rule compile(Rule rule, JsonNode valueSets) {
+        if (!(rule.getLogic() instanceof ObjectNode)) {
+            return rule;
+        }
+        ObjectNode logic = (ObjectNode) rule.getLogic();
+        CompiledLogic compiledLogic = new CompiledLogic(logic, JsonLogicCompiler.compile(logic, valueSets));
+        return new Rule(rule.getIdentifier(), rule.getType(), rule.getVersion(), rule.getSchemaVersion(),
+            rule.getEngine(), rule.getEngineVersion(), rule.getRuleCertificateType(), rule.getDescriptions(),
+            rule.getValidFrom(), rule.getValidTo(), rule.getAffectedString(), compiledLogic, rule.getCountryCode(),
+            rule.getRegion());
+    }
+
+    public CompiledExpression getExpression() {
+        return expression;
+    }
+
+    private static Map<String, JsonNode> fields(ObjectNode logic) {
+        Map<String, JsonNode> fields = new LinkedHashMap<>();
+        logic.fields().forEachRemaining(field -> fields.put(field.getKey(), field.getValue()));
+        return fields;
+    }
+}
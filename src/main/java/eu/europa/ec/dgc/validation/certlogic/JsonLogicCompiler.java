@@ -0,0 +1,411 @@
+package eu.europa.ec.dgc.validation.certlogic;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import eu.ehn.dcc.certlogic.CertlogicKt;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiles CertLogic expressions into closures.
+ * Literals, var, if, ===, and, !, in, + and integer comparisons are compiled. Every other operation
+ * and every operand shape the closures are not sure about is handed to the CertLogic interpreter for
+ * the sub expression, so a compiled expression always yields the interpreter's result.
+ * When compiled against value sets, references to external.valueSets are replaced by the given value
+ * sets, sub expressions depending on value sets and literals only are folded to constants and "in"
+ * checks against constant lists become hash set lookups.
+ */
+public final class JsonLogicCompiler {
+    private static final String VALUE_SETS_PREFIX = "external.valueSets.";
+
+    private final JsonNode constantData;
+    private final boolean valueSetsKnown;
+
+    private JsonLogicCompiler(JsonNode valueSets) {
+        ObjectNode data = JsonNodeFactory.instance.objectNode();
+        if (valueSets != null) {
+            data.putObject("external").set("valueSets", valueSets);
+        }
+        this.constantData = data;
+        this.valueSetsKnown = valueSets != null;
+    }
+
+    /**
+     * compile expression.
+     * @param expression CertLogic expression
+     * @return compiled expression
+     */
+    public static CompiledExpression compile(JsonNode expression) {
+        return compile(expression, null);
+    }
+
+    /**
+     * compile expression specialised for value sets.
+     * The compiled expression must only be evaluated on data whose external.valueSets equal the value sets.
+     * @param expression CertLogic expression
+     * @param valueSets value sets (external.valueSets) or null if unknown
+     * @return compiled expression
+     */
+    public static CompiledExpression compile(JsonNode expression, JsonNode valueSets) {
+        return new JsonLogicCompiler(valueSets).compileExpression(expression);
+    }
+
+    private CompiledExpression compileExpression(JsonNode expression) {
+        if (isLiteral(expression)) {
+            return new Constant(expression);
+        }
+        if (isConstant(expression)) {
+            try {
+                return new Constant(compileDynamic(expression).evaluate(constantData));
+            } catch (RuntimeException e) {
+                return compileDynamic(expression);
+            }
+        }
+        return compileDynamic(expression);
+    }
+
+    private CompiledExpression compileDynamic(JsonNode expression) {
+        if (expression instanceof ArrayNode) {
+            return compileArray((ArrayNode) expression);
+        }
+        if (expression instanceof ObjectNode && expression.size() == 1) {
+            Map.Entry<String, JsonNode> operation = expression.fields().next();
+            CompiledExpression compiled = compileOperation(expression, operation.getKey(), operation.getValue());
+            if (compiled != null) {
+                return compiled;
+            }
+        }
+        return interpreted(expression);
+    }
+
+    private CompiledExpression compileOperation(JsonNode expression, String operator, JsonNode args) {
+        if ("var".equals(operator)) {
+            return args instanceof TextNode ? compileVar(expression, args.textValue()) : null;
+        }
+        if (!(args instanceof ArrayNode)) {
+            return null;
+        }
+        switch (operator) {
+            case "if":
+                return args.size() == 3 ? compileIf(expression, compileAll(args)) : null;
+            case "===":
+                return args.size() == 2 ? compileStrictEquals(expression, compileAll(args)) : null;
+            case "and":
+                return args.size() >= 2 ? compileAnd(expression, compileAll(args)) : null;
+            case "!":
+                return args.size() == 1 ? compileNot(expression, compileAll(args)[0]) : null;
+            case "in":
+                return args.size() == 2 ? compileIn(expression, compileAll(args)) : null;
+            case "+":
+                return args.size() == 2 ? compilePlus(expression, compileAll(args)) : null;
+            case "<":
+            case "<=":
+                return args.size() == 2 || args.size() == 3
+                    ? compileComparison(expression, operator, compileAll(args)) : null;
+            case ">":
+            case ">=":
+                return args.size() == 2 ? compileComparison(expression, operator, compileAll(args)) : null;
+            default:
+                return null;
+        }
+    }
+
+    private CompiledExpression[] compileAll(JsonNode args) {
+        CompiledExpression[] compiled = new CompiledExpression[args.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            compiled[i] = compileExpression(args.get(i));
+        }
+        return compiled;
+    }
+
+    private CompiledExpression compileArray(ArrayNode array) {
+        boolean constant = true;
+        for (JsonNode element : array) {
+            constant &= isLiteral(element);
+        }
+        if (constant) {
+            return new Constant(array);
+        }
+        CompiledExpression[] elements = compileAll(array);
+        return data -> {
+            ArrayNode result = JsonNodeFactory.instance.arrayNode(elements.length);
+            for (CompiledExpression element : elements) {
+                result.add(element.evaluate(data));
+            }
+            return result;
+        };
+    }
+
+    private static CompiledExpression compileVar(JsonNode expression, String path) {
+        if (path.isEmpty()) {
+            return data -> data;
+        }
+        String[] fragments = path.split("\\.", -1);
+        Integer[] indices = new Integer[fragments.length];
+        for (int i = 0; i < fragments.length; i++) {
+            indices[i] = arrayIndex(fragments[i]);
+        }
+        return data -> {
+            JsonNode current = data;
+            for (int i = 0; i < fragments.length && !current.isNull(); i++) {
+                JsonNode next;
+                if (indices[i] != null && current instanceof ArrayNode) {
+                    next = current.get(indices[i]);
+                } else if (indices[i] == null && current instanceof ObjectNode) {
+                    next = current.get(fragments[i]);
+                } else {
+                    return interpret(expression, data);
+                }
+                current = next == null ? NullNode.getInstance() : next;
+            }
+            return current;
+        };
+    }
+
+    private static CompiledExpression compileIf(JsonNode expression, CompiledExpression[] args) {
+        CompiledExpression guard = args[0];
+        CompiledExpression then = args[1];
+        CompiledExpression otherwise = args[2];
+        return data -> {
+            JsonNode value = guard.evaluate(data);
+            if (isTruthy(value)) {
+                return then.evaluate(data);
+            }
+            if (isFalsy(value)) {
+                return otherwise.evaluate(data);
+            }
+            return interpret(expression, data);
+        };
+    }
+
+    private static CompiledExpression compileStrictEquals(JsonNode expression, CompiledExpression[] args) {
+        CompiledExpression left = args[0];
+        CompiledExpression right = args[1];
+        return data -> {
+            JsonNode leftValue = left.evaluate(data);
+            JsonNode rightValue = right.evaluate(data);
+            if (isLiteral(leftValue) && isLiteral(rightValue)) {
+                return BooleanNode.valueOf(leftValue.equals(rightValue));
+            }
+            return interpret(expression, data);
+        };
+    }
+
+    private static CompiledExpression compileAnd(JsonNode expression, CompiledExpression[] args) {
+        return data -> {
+            JsonNode value = BooleanNode.TRUE;
+            for (CompiledExpression arg : args) {
+                if (isFalsy(value)) {
+                    return value;
+                }
+                if (!isTruthy(value)) {
+                    return interpret(expression, data);
+                }
+                value = arg.evaluate(data);
+            }
+            return value;
+        };
+    }
+
+    private static CompiledExpression compileNot(JsonNode expression, CompiledExpression operand) {
+        return data -> {
+            JsonNode value = operand.evaluate(data);
+            if (isFalsy(value)) {
+                return BooleanNode.TRUE;
+            }
+            if (isTruthy(value)) {
+                return BooleanNode.FALSE;
+            }
+            return interpret(expression, data);
+        };
+    }
+
+    private static CompiledExpression compileIn(JsonNode expression, CompiledExpression[] args) {
+        CompiledExpression item = args[0];
+        CompiledExpression values = args[1];
+        Set<JsonNode> constantValues = literalSet(values);
+        if (constantValues != null) {
+            return data -> {
+                JsonNode itemValue = item.evaluate(data);
+                if (!isLiteral(itemValue)) {
+                    return interpret(expression, data);
+                }
+                return BooleanNode.valueOf(constantValues.contains(itemValue));
+            };
+        }
+        return data -> {
+            JsonNode itemValue = item.evaluate(data);
+            JsonNode valuesValue = values.evaluate(data);
+            if (!isLiteral(itemValue) || !(valuesValue instanceof ArrayNode)) {
+                return interpret(expression, data);
+            }
+            for (JsonNode value : valuesValue) {
+                if (itemValue.equals(value)) {
+                    return BooleanNode.TRUE;
+                }
+            }
+            return BooleanNode.FALSE;
+        };
+    }
+
+    private static CompiledExpression compilePlus(JsonNode expression, CompiledExpression[] args) {
+        CompiledExpression left = args[0];
+        CompiledExpression right = args[1];
+        return data -> {
+            JsonNode leftValue = left.evaluate(data);
+            JsonNode rightValue = right.evaluate(data);
+            if (leftValue instanceof IntNode && rightValue instanceof IntNode) {
+                return IntNode.valueOf(leftValue.intValue() + rightValue.intValue());
+            }
+            return interpret(expression, data);
+        };
+    }
+
+    private static CompiledExpression compileComparison(JsonNode expression, String operator,
+                                                        CompiledExpression[] args) {
+        return data -> {
+            int[] values = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                JsonNode value = args[i].evaluate(data);
+                if (!(value instanceof IntNode)) {
+                    return interpret(expression, data);
+                }
+                values[i] = value.intValue();
+            }
+            boolean result = true;
+            for (int i = 1; i < values.length; i++) {
+                result &= compare(operator, values[i - 1], values[i]);
+            }
+            return BooleanNode.valueOf(result);
+        };
+    }
+
+    private static boolean compare(String operator, int left, int right) {
+        switch (operator) {
+            case "<":
+                return left < right;
+            case "<=":
+                return left <= right;
+            case ">":
+                return left > right;
+            default:
+                return left >= right;
+        }
+    }
+
+    private static Set<JsonNode> literalSet(CompiledExpression expression) {
+        if (!(expression instanceof Constant) || !(((Constant) expression).value instanceof ArrayNode)) {
+            return null;
+        }
+        Set<JsonNode> values = new HashSet<>();
+        for (JsonNode value : ((Constant) expression).value) {
+            if (!isLiteral(value)) {
+                return null;
+            }
+            values.add(value);
+        }
+        return values;
+    }
+
+    /**
+     * whether the expression only depends on literals and known value sets.
+     */
+    private boolean isConstant(JsonNode expression) {
+        if (isLiteral(expression)) {
+            return true;
+        }
+        if (expression instanceof ArrayNode) {
+            for (JsonNode element : expression) {
+                if (!isConstant(element)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (!(expression instanceof ObjectNode) || expression.size() != 1) {
+            return false;
+        }
+        Map.Entry<String, JsonNode> operation = expression.fields().next();
+        if ("var".equals(operation.getKey())) {
+            return valueSetsKnown && operation.getValue() instanceof TextNode
+                && operation.getValue().textValue().startsWith(VALUE_SETS_PREFIX);
+        }
+        return isConstant(operation.getValue());
+    }
+
+    private static CompiledExpression interpreted(JsonNode expression) {
+        return data -> interpret(expression, data);
+    }
+
+    private static JsonNode interpret(JsonNode expression, JsonNode data) {
+        return CertlogicKt.evaluate(expression, data);
+    }
+
+    private static Integer arrayIndex(String fragment) {
+        try {
+            return Integer.parseInt(fragment);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean isLiteral(JsonNode node) {
+        return node instanceof TextNode || node instanceof IntNode || node instanceof BooleanNode
+            || node instanceof NullNode;
+    }
+
+    private static final class Constant implements CompiledExpression {
+        private final JsonNode value;
+
+        private Constant(JsonNode value) {
+            this.value = value;
+        }
+
+        @Override
+        public JsonNode evaluate(JsonNode data) {
+            return value;
+        }
+    }
+
+    static boolean isTruthy(JsonNode value) {
+        if (value instanceof BooleanNode) {
+            return value.booleanValue();
+        }
+        if (value instanceof TextNode) {
+            return !value.textValue().isEmpty();
+        }
+        if (value instanceof IntNode) {
+            return value.intValue() != 0;
+        }
+        if (value instanceof ArrayNode || value instanceof ObjectNode) {
+            return value.size() > 0;
+        }
+        return false;
+    }
+
+    static boolean isFalsy(JsonNode value) {
+        if (value instanceof BooleanNode) {
+            return !value.booleanValue();
+        }
+        if (value instanceof NullNode) {
+            return true;
+        }
+        if (value instanceof TextNode) {
+            return value.textValue().isEmpty();
+        }
+        if (value instanceof IntNode) {
+            return value.intValue() == 0;
+        }
+        if (value instanceof ArrayNode || value instanceof ObjectNode) {
+            return value.size() == 0;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,99 @@
+package eu.europa.ec.dgc.validation.config;
+
+import dgca.verifier.app.engine.JsonLogicValidator;
+import eu.europa.ec.dgc.validation.certlogic.CompiledJsonLogicValidator;
+import eu.europa.ec.dgc.validation.service.AccessTokenVerifier;
+import eu.europa.ec.dgc.validation.service.CertLogicResultCache;
+import eu.europa.ec.dgc.validation.service.CoseSignatureVerifier;
+import eu.europa.ec.dgc.validation.service.DecodedDccCache;
+import eu.europa.ec.dgc.validation.service.DscTrustStore;
+import eu.europa.ec.dgc.validation.service.VerifiedSignatureCache;
+import eu.europa.ec.dgc.validation.service.impl.DgcgRulesCache;
+import eu.europa.ec.dgc.validation.service.impl.DgcgValueSetCache;
+import eu.europa.ec.dgc.validation.utils.CacheStatistics;
+import eu.europa.ec.dgc.validation.utils.CryptoPrimitives;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes cache statistics on the info endpoint.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheInfoContributor implements InfoContributor {
+    private final DecodedDccCache decodedDccCache;
+    private final CertLogicResultCache certLogicResultCache;
+    private final DgcgRulesCache rulesCache;
+    private final DgcgValueSetCache valueSetCache;
+    private final JsonLogicValidator jsonLogicValidator;
+    private final DscTrustStore dscTrustStore;
+    private final CoseSignatureVerifier coseSignatureVerifier;
+    private final VerifiedSignatureCache verifiedSignatureCache;
+    private final AccessTokenVerifier accessTokenVerifier;
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        Map<String, Object> caches = new LinkedHashMap<>();
+        caches.put("decodedDcc", details(decodedDccCache.getStatistics(), decodedDccCache.size()));
+        caches.put("certLogicResult", details(certLogicResultCache.getStatistics(), certLogicResultCache.size()));
+        if (jsonLogicValidator instanceof CompiledJsonLogicValidator) {
+            CompiledJsonLogicValidator compiled = (CompiledJsonLogicValidator) jsonLogicValidator;
+            Map<String, Object> compiledRules = new LinkedHashMap<>();
+            compiledRules.put("compiled", compiled.getCompiledEvaluations());
+            compiledRules.put("fallback", compiled.getFallbackEvaluations());
+            caches.put("compiledRules", compiledRules);
+        }
+        Map<String, Object> rules = new LinkedHashMap<>();
+        rules.put("version", rulesCache.getVersion());
+        rules.put("size", rulesCache.size());
+        rules.put("reloads", rulesCache.getReloads());
+        rules.put("refreshes", rulesCache.getRefreshes());
+        rules.put("parsed", rulesCache.getParsedRules());
+        rules.put("skipped", rulesCache.getSkippedRules());
+        rules.put("valueSetSpecializations", rulesCache.getSpecializations());
+        caches.put("rules", rules);
+        Map<String, Object> valueSets = new LinkedHashMap<>();
+        valueSets.put("version", valueSetCache.getVersion());
+        valueSets.put("size", valueSetCache.size());
+        valueSets.put("reloads", valueSetCache.getReloads());
+        caches.put("valueSets", valueSets);
+        Map<String, Object> trustStore = new LinkedHashMap<>();
+        trustStore.put("kids", dscTrustStore.size());
+        trustStore.put("certificates", dscTrustStore.getCertificateCount());
+        trustStore.put("memoryFootprint", dscTrustStore.getMemoryFootprint());
+        trustStore.put("rebuildMillis", dscTrustStore.getRebuildMillis());
+        trustStore.put("rebuilds", dscTrustStore.getRebuilds());
+        trustStore.put("hits", dscTrustStore.getHits());
+        trustStore.put("misses", dscTrustStore.getMisses());
+        trustStore.put("databaseLookups", dscTrustStore.getDatabaseLookups());
+        trustStore.put("unknownKids", details(dscTrustStore.getUnknownKidStatistics(), dscTrustStore.getUnknownKids()));
+        caches.put("trustStore", trustStore);
+        Map<String, Object> signatures = new LinkedHashMap<>();
+        signatures.put("direct", coseSignatureVerifier.getDirectVerifications());
+        signatures.put("fallback", coseSignatureVerifier.getFallbackVerifications());
+        signatures.put("signerKeys", details(coseSignatureVerifier.getSignerKeyStatistics(),
+            coseSignatureVerifier.getSignerKeys()));
+        caches.put("signatures", signatures);
+        caches.put("verifiedSignatures", details(verifiedSignatureCache.getStatistics(),
+            verifiedSignatureCache.size()));
+        caches.put("accessTokens", details(accessTokenVerifier.getStatistics(), accessTokenVerifier.size()));
+        Map<String, Object> cryptoPrimitives = new LinkedHashMap<>();
+        cryptoPrimitives.put("default", CryptoPrimitives.DEFAULT.getInstancesCreated());
+        cryptoPrimitives.put("bouncyCastle", CryptoPrimitives.BOUNCY_CASTLE.getInstancesCreated());
+        caches.put("cryptoPrimitives", cryptoPrimitives);
+        builder.withDetail("caches", caches);
+    }
+
+    private static Map<String, Object> details(CacheStatistics statistics, int size) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("size", size);
+        details.put("hits", statistics.getHits());
+        details.put("misses", statistics.getMisses());
+        details.put("hitRatio", statistics.getHitRatio());
+        return details;
+    }
+}
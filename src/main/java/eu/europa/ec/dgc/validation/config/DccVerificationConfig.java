@@ -11,6 +11,8 @@ import dgca.verifier.app.engine.DefaultAffectedFieldsDataRetriever;
 import dgca.verifier.app.engine.DefaultCertLogicEngine;
 import dgca.verifier.app.engine.DefaultJsonLogicValidator;
 import dgca.verifier.app.engine.JsonLogicValidator;
+import eu.europa.ec.dgc.validation.certlogic.CompiledJsonLogicValidator;
+import eu.europa.ec.dgc.validation.decoder.DccDecoder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -33,10 +35,18 @@ public class DccVerificationConfig {
     }
 
     @Bean
-    JsonLogicValidator jsonLogicValidator() {
+    JsonLogicValidator jsonLogicValidator(DgcConfigProperties dgcConfigProperties) {
+        if (dgcConfigProperties.getCompiledCertLogic().isEnabled()) {
+            return new CompiledJsonLogicValidator(new DefaultJsonLogicValidator());
+        }
         return new DefaultJsonLogicValidator();
     }
 
+    @Bean
+    DccDecoder dccDecoder(DgcConfigProperties dgcConfigProperties) {
+        return new DccDecoder(dgcConfigProperties.getMaxInflatedDccSize());
+    }
+
     @Bean
     CertLogicEngine certLogicEngine(AffectedFieldsDataRetriever affectedFieldsDataRetriever,
                                     JsonLogicValidator jsonLogicValidator) {
@@ -20,6 +20,7 @@
 
 package eu.europa.ec.dgc.validation.config;
 
+import eu.europa.ec.dgc.validation.decoder.DccDecoder;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import lombok.Getter;
@@ -48,6 +49,45 @@ public class DgcConfigProperties {
         private Integer lockLimit;
     }
 
+    private final CacheConfig decodedDccCache = new CacheConfig();
+
+    private final CacheConfig certLogicResultCache = new CacheConfig();
+
+    private final CacheConfig unknownKidCache = new CacheConfig();
+
+    private final CacheConfig signerKeyCache = new CacheConfig();
+
+    private final CacheConfig verifiedSignatureCache = new CacheConfig();
+
+    private final CacheConfig accessTokenCache = new CacheConfig();
+
+    @Getter
+    @Setter
+    public static class CacheConfig {
+        private int maxSize = 2000;
+        private long expire = 600;
+    }
+
+    private final CompiledCertLogic compiledCertLogic = new CompiledCertLogic();
+
+    @Getter
+    @Setter
+    public static class CompiledCertLogic {
+        private boolean enabled = false;
+    }
+
+    private final ParallelValidation parallelValidation = new ParallelValidation();
+
+    @Getter
+    @Setter
+    public static class ParallelValidation {
+        private boolean enabled = false;
+        private int threads = 4;
+        private int queueSize = 100;
+    }
+
+    private int maxInflatedDccSize = DccDecoder.DEFAULT_MAX_INFLATED_SIZE;
+
     private long validationExpire = 3600;
     private long confirmationExpire = 86400;
 
@@ -0,0 +1,42 @@
+package eu.europa.ec.dgc.validation.config;
+
+import eu.europa.ec.dgc.validation.pipeline.StageStatistics;
+import eu.europa.ec.dgc.validation.pipeline.ValidationPipeline;
+import eu.europa.ec.dgc.validation.pipeline.ValidationStage;
+import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenType;
+import eu.europa.ec.dgc.validation.service.DccValidator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes per stage statistics of the validation pipelines on the info endpoint.
+ */
+@Component
+@RequiredArgsConstructor
+public class PipelineInfoContributor implements InfoContributor {
+    private final DccValidator dccValidator;
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        Map<String, Object> pipelines = new LinkedHashMap<>();
+        for (AccessTokenType accessTokenType : AccessTokenType.values()) {
+            ValidationPipeline pipeline = dccValidator.getPipeline(accessTokenType);
+            Map<String, Object> stages = new LinkedHashMap<>();
+            for (ValidationStage stage : pipeline.getStages()) {
+                StageStatistics statistics = pipeline.getStatistics().get(stage.getName());
+                Map<String, Object> details = new LinkedHashMap<>();
+                details.put("cost", stage.getCostClass());
+                details.put("invocations", statistics.getInvocations());
+                details.put("shortCircuits", statistics.getShortCircuits());
+                details.put("averageNanos", statistics.getAverageNanos());
+                stages.put(stage.getName(), details);
+            }
+            pipelines.put(accessTokenType.name(), stages);
+        }
+        builder.withDetail("validationPipelines", pipelines);
+    }
+}
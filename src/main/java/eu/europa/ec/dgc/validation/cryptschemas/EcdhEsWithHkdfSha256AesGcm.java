@@ -0,0 +1,133 @@
+package eu.europa.ec.dgc.validation.cryptschemas;
+
+import eu.europa.ec.dgc.validation.exception.DccException;
+import eu.europa.ec.dgc.validation.utils.CryptoPrimitives;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.X509EncodedKeySpec;
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import org.bouncycastle.crypto.agreement.ECDHBasicAgreement;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.generators.HKDFBytesGenerator;
+import org.bouncycastle.crypto.params.AsymmetricKeyParameter;
+import org.bouncycastle.crypto.params.ECKeyParameters;
+import org.bouncycastle.crypto.params.HKDFParameters;
+import org.bouncycastle.jcajce.provider.asymmetric.util.ECUtil;
+import org.bouncycastle.util.Arrays;
+import org.bouncycastle.util.BigIntegers;
+
+/**
+ * ECDH-ES key agreement with an ephemeral key on the curve of the encryption key (P-256), the AES-256 key
+ * is derived from the shared secret with HKDF-SHA256 and the data is encrypted with AES-GCM.
+ * encKey carries the X.509 encoded ephemeral public key, the HKDF info binds the schema name and that key.
+ * Costs one EC scalar multiplication on decryption instead of an RSA private key operation.
+ */
+public class EcdhEsWithHkdfSha256AesGcm implements CryptSchema {
+    public static final String KEY_ALGORITHM = "EC";
+    public static final String DATA_CIPHER = "AES/GCM/NoPadding";
+    public static final String ENC_SCHEMA = "ECDHESWithHKDFSHA256AESGCM";
+    private static final int AES_KEY_LENGTH = 32;
+    private static final byte[] INFO_PREFIX = ENC_SCHEMA.getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * encrypt Data.
+     * @param data data
+     * @param publicKey publicKey (EC)
+     * @param iv iv
+     * @return EncryptedData
+     */
+    public EncryptedData encryptData(byte[] data, PublicKey publicKey, byte[] iv) {
+        try {
+            iv = checkIv(iv);
+            if (!(publicKey instanceof ECPublicKey)) {
+                throw new InvalidKeySpecException("EC public key required");
+            }
+            KeyPairGenerator keyPairGenerator = CryptoPrimitives.DEFAULT.keyPairGenerator(KEY_ALGORITHM);
+            keyPairGenerator.initialize(((ECPublicKey) publicKey).getParams());
+            KeyPair ephemeralKeyPair = keyPairGenerator.generateKeyPair();
+            byte[] ephemeralPublicKey = ephemeralKeyPair.getPublic().getEncoded();
+
+            byte[] secretKey = deriveKey(ECUtil.generatePrivateKeyParameter(ephemeralKeyPair.getPrivate()),
+                ECUtil.generatePublicKeyParameter(publicKey), ephemeralPublicKey);
+
+            EncryptedData encryptedData = new EncryptedData();
+            encryptedData.setDataEncrypted(aesGcm(Cipher.ENCRYPT_MODE, secretKey, iv, data));
+            encryptedData.setEncKey(ephemeralPublicKey);
+            return encryptedData;
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new DccException("encryption error", e);
+        }
+    }
+
+    /**
+     * decrypt Data.
+     * @param encryptedData encryptedData, encKey is the ephemeral public key
+     * @param privateKey privateKey (EC)
+     * @param iv iv
+     * @return decrypted data
+     */
+    public byte[] decryptData(EncryptedData encryptedData, PrivateKey privateKey, byte[] iv) {
+        try {
+            iv = checkIv(iv);
+            byte[] ephemeralPublicKey = encryptedData.getEncKey();
+            PublicKey publicKey = CryptoPrimitives.DEFAULT.keyFactory(KEY_ALGORITHM)
+                .generatePublic(new X509EncodedKeySpec(ephemeralPublicKey));
+
+            // the key factory validates that the ephemeral point is on its curve, deriveKey that it is the curve
+            // of the private key
+            byte[] secretKey = deriveKey(ECUtil.generatePrivateKeyParameter(privateKey),
+                ECUtil.generatePublicKeyParameter(publicKey), ephemeralPublicKey);
+
+            return aesGcm(Cipher.DECRYPT_MODE, secretKey, iv, encryptedData.getDataEncrypted());
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new DccException("decryption error", e);
+        }
+    }
+
+    public String getEncSchema() {
+        return ENC_SCHEMA;
+    }
+
+    private static byte[] checkIv(byte[] iv) throws InvalidKeySpecException {
+        if (iv == null) {
+            return new byte[]{0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0};
+        } else if (iv.length != 16) {
+            throw new InvalidKeySpecException();
+        }
+        return iv;
+    }
+
+    private static byte[] deriveKey(AsymmetricKeyParameter privateKey, AsymmetricKeyParameter publicKey,
+                                    byte[] ephemeralPublicKey) throws InvalidKeyException {
+        if (!((ECKeyParameters) privateKey).getParameters().equals(((ECKeyParameters) publicKey).getParameters())) {
+            throw new InvalidKeyException("ephemeral key is not on the curve of the encryption key");
+        }
+        ECDHBasicAgreement agreement = new ECDHBasicAgreement();
+        agreement.init(privateKey);
+        byte[] sharedSecret = BigIntegers.asUnsignedByteArray(agreement.getFieldSize(),
+            agreement.calculateAgreement(publicKey));
+
+        HKDFBytesGenerator hkdf = new HKDFBytesGenerator(new SHA256Digest());
+        hkdf.init(new HKDFParameters(sharedSecret, null, Arrays.concatenate(INFO_PREFIX, ephemeralPublicKey)));
+        byte[] secretKey = new byte[AES_KEY_LENGTH];
+        hkdf.generateBytes(secretKey, 0, secretKey.length);
+        Arrays.fill(sharedSecret, (byte) 0);
+        return secretKey;
+    }
+
+    private static byte[] aesGcm(int mode, byte[] secretKey, byte[] iv, byte[] data)
+        throws GeneralSecurityException {
+        Cipher cipher = CryptoPrimitives.DEFAULT.cipher(DATA_CIPHER);
+        cipher.init(mode, new SecretKeySpec(secretKey, "AES"), new GCMParameterSpec(iv.length * 8, iv));
+        return cipher.doFinal(data);
+    }
+}
@@ -1,6 +1,7 @@
 package eu.europa.ec.dgc.validation.cryptschemas;
 
 import eu.europa.ec.dgc.validation.exception.DccException;
+import eu.europa.ec.dgc.validation.utils.CryptoPrimitives;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
@@ -43,17 +44,17 @@ public class RsaOaepWithSha256AesCbc implements CryptSchema {
 
             EncryptedData encryptedData = new EncryptedData();
 
-            KeyGenerator keyGen = KeyGenerator.getInstance("AES");
+            KeyGenerator keyGen = CryptoPrimitives.DEFAULT.keyGenerator("AES");
             keyGen.init(256); // for example
             SecretKey secretKey = keyGen.generateKey();
 
             IvParameterSpec ivspec = new IvParameterSpec(iv);
-            Cipher cipher = Cipher.getInstance(DATA_CIPHER);
+            Cipher cipher = CryptoPrimitives.DEFAULT.cipher(DATA_CIPHER);
             cipher.init(Cipher.ENCRYPT_MODE, secretKey, ivspec);
             encryptedData.setDataEncrypted(cipher.doFinal(data));
 
             // encrypt RSA key
-            Cipher keyCipher = Cipher.getInstance(KEY_CIPHER);
+            Cipher keyCipher = CryptoPrimitives.DEFAULT.cipher(KEY_CIPHER);
             OAEPParameterSpec oaepParameterSpec = new OAEPParameterSpec(
                 "SHA-256", "MGF1", MGF1ParameterSpec.SHA256, PSource.PSpecified.DEFAULT
             );
@@ -84,7 +85,7 @@ public class RsaOaepWithSha256AesCbc implements CryptSchema {
                 throw new InvalidKeySpecException();
             }
 
-            Cipher keyCipher = Cipher.getInstance(KEY_CIPHER);
+            Cipher keyCipher = CryptoPrimitives.DEFAULT.cipher(KEY_CIPHER);
             OAEPParameterSpec oaepParameterSpec = new OAEPParameterSpec(
                 "SHA-256", "MGF1", MGF1ParameterSpec.SHA256, PSource.PSpecified.DEFAULT
             );
@@ -92,8 +93,8 @@ public class RsaOaepWithSha256AesCbc implements CryptSchema {
             byte[] rsaKey = keyCipher.doFinal(encryptedData.getEncKey());
 
             IvParameterSpec ivspec = new IvParameterSpec(iv);
-            Cipher cipher = Cipher.getInstance(DATA_CIPHER);
-            SecretKeyFactory secretKeyFactory = SecretKeyFactory.getInstance("AES");
+            Cipher cipher = CryptoPrimitives.DEFAULT.cipher(DATA_CIPHER);
+            SecretKeyFactory secretKeyFactory = CryptoPrimitives.BOUNCY_CASTLE.secretKeyFactory("AES");
             SecretKeySpec secretKeySpec = new SecretKeySpec(rsaKey, 0, rsaKey.length, "AES");
             SecretKey secretKey = secretKeyFactory.generateSecret(secretKeySpec);
 
@@ -0,0 +1,77 @@
+package eu.europa.ec.dgc.validation.decoder;
+
+import java.util.Arrays;
+
+/**
+ * Table driven base45 decoder (RFC 9285) working on byte slices.
+ */
+public final class Base45Decoder {
+    private static final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ $%*+-./:";
+    private static final byte[] DECODE_TABLE = new byte[256];
+
+    static {
+        Arrays.fill(DECODE_TABLE, (byte) -1);
+        for (int i = 0; i < ALPHABET.length(); i++) {
+            DECODE_TABLE[ALPHABET.charAt(i)] = (byte) i;
+        }
+    }
+
+    private Base45Decoder() {
+    }
+
+    /**
+     * decoded length.
+     * @param length number of base45 characters
+     * @return number of decoded bytes or -1 if the length is not a valid base45 length
+     */
+    public static int decodedLength(int length) {
+        if (length % 3 == 1) {
+            return -1;
+        }
+        return length / 3 * 2 + (length % 3 == 2 ? 1 : 0);
+    }
+
+    /**
+     * decode base45 slice into target buffer.
+     * @param src source
+     * @param offset offset in source
+     * @param length number of characters to decode
+     * @param target target buffer, must hold at least decodedLength(length) bytes
+     * @return number of decoded bytes or -1 if the input is not valid base45
+     */
+    public static int decode(byte[] src, int offset, int length, byte[] target) {
+        if (decodedLength(length) < 0) {
+            return -1;
+        }
+        int pos = 0;
+        int end = offset + length;
+        int i = offset;
+        for (; i + 3 <= end; i += 3) {
+            int c0 = DECODE_TABLE[src[i] & 0xff];
+            int c1 = DECODE_TABLE[src[i + 1] & 0xff];
+            int c2 = DECODE_TABLE[src[i + 2] & 0xff];
+            if ((c0 | c1 | c2) < 0) {
+                return -1;
+            }
+            int value = c0 + c1 * 45 + c2 * 45 * 45;
+            if (value > 0xffff) {
+                return -1;
+            }
+            target[pos++] = (byte) (value >> 8);
+            target[pos++] = (byte) value;
+        }
+        if (i < end) {
+            int c0 = DECODE_TABLE[src[i] & 0xff];
+            int c1 = DECODE_TABLE[src[i + 1] & 0xff];
+            if ((c0 | c1) < 0) {
+                return -1;
+            }
+            int value = c0 + c1 * 45;
+            if (value > 0xff) {
+                return -1;
+            }
+            target[pos++] = (byte) value;
+        }
+        return pos;
+    }
+}
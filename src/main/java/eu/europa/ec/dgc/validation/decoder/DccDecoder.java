@@ -0,0 +1,146 @@
+package eu.europa.ec.dgc.validation.decoder;
+
+import dgca.verifier.app.decoder.model.VerificationResult;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decodes a raw DCC (HC1 prefix, base45, zlib) into its COSE bytes without intermediate strings.
+ * The base45 and inflate stages write into per thread buffers and only the resulting COSE
+ * message is copied out. Inflaters are reused per thread and the inflated size is capped,
+ * streams expanding beyond the cap are rejected as soon as the cap is reached.
+ */
+@Slf4j
+public class DccDecoder {
+    public static final String CONTEXT_PREFIX = "HC1:";
+    public static final int DEFAULT_MAX_INFLATED_SIZE = 64 * 1024;
+    private static final byte[] CONTEXT_PREFIX_BYTES = CONTEXT_PREFIX.getBytes(StandardCharsets.US_ASCII);
+    private static final int ZLIB_METHOD_DEFLATE = 0x08;
+    private static final int INITIAL_BUFFER_SIZE = 4 * 1024;
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+
+    private final int maxInflatedSize;
+    private final ThreadLocal<byte[]> base45Buffer = ThreadLocal.withInitial(() -> new byte[INITIAL_BUFFER_SIZE]);
+    private final ThreadLocal<byte[]> inflateBuffer = ThreadLocal.withInitial(() -> new byte[INITIAL_BUFFER_SIZE]);
+    private final ThreadLocal<Inflater> inflaters = ThreadLocal.withInitial(Inflater::new);
+
+    public DccDecoder() {
+        this(DEFAULT_MAX_INFLATED_SIZE);
+    }
+
+    public DccDecoder(int maxInflatedSize) {
+        this.maxInflatedSize = maxInflatedSize;
+    }
+
+    /**
+     * decode dcc up to the cose message.
+     * The verification result is updated stage by stage (context prefix, base45, zlib).
+     * @param dcc raw dcc bytes
+     * @param verificationResult verificationResult
+     * @return cose bytes or null if one of the stages failed
+     */
+    public byte[] decode(byte[] dcc, VerificationResult verificationResult) {
+        if (!hasContextPrefix(dcc)) {
+            return null;
+        }
+        verificationResult.setContextPrefix(CONTEXT_PREFIX);
+
+        int offset = CONTEXT_PREFIX_BYTES.length;
+        int length = dcc.length - offset;
+        int decodedLength = Base45Decoder.decodedLength(length);
+        if (decodedLength < 0) {
+            return null;
+        }
+        byte[] compressed = buffer(base45Buffer, decodedLength);
+        int compressedLength = Base45Decoder.decode(dcc, offset, length, compressed);
+        if (compressedLength < 0) {
+            return null;
+        }
+        verificationResult.setBase45Decoded(true);
+
+        return inflate(compressed, 0, compressedLength, verificationResult);
+    }
+
+    private boolean hasContextPrefix(byte[] dcc) {
+        if (dcc == null || dcc.length < CONTEXT_PREFIX_BYTES.length) {
+            return false;
+        }
+        for (int i = 0; i < CONTEXT_PREFIX_BYTES.length; i++) {
+            if (dcc[i] != CONTEXT_PREFIX_BYTES[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isZlibStream(byte[] input, int offset, int length) {
+        if (length < 2) {
+            return false;
+        }
+        int cmf = input[offset] & 0xff;
+        int flg = input[offset + 1] & 0xff;
+        return (cmf & 0x0f) == ZLIB_METHOD_DEFLATE && (cmf * 256 + flg) % 31 == 0;
+    }
+
+    private byte[] inflate(byte[] input, int offset, int length, VerificationResult verificationResult) {
+        if (!isZlibStream(input, offset, length)) {
+            return null;
+        }
+        if (length > maxInflatedSize) {
+            log.debug("zlib stream rejected, compressed size {} exceeds limit", length);
+            return null;
+        }
+        Inflater inflater = inflaters.get();
+        try {
+            inflater.setInput(input, offset, length);
+            // one byte beyond the cap separates a stream of exactly the cap from a larger one
+            int limit = maxInflatedSize + 1;
+            byte[] output = buffer(inflateBuffer, Math.min(limit, length * 2));
+            int total = 0;
+            while (!inflater.finished()) {
+                if (total == output.length) {
+                    output = grow(inflateBuffer, output, limit);
+                }
+                int inflated = inflater.inflate(output, total, output.length - total);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    log.debug("zlib stream truncated");
+                    return null;
+                }
+                total += inflated;
+                if (total > maxInflatedSize) {
+                    log.debug("zlib stream rejected, inflated size exceeds {} bytes", maxInflatedSize);
+                    return null;
+                }
+            }
+            verificationResult.setZlibDecoded(true);
+            return Arrays.copyOf(output, total);
+        } catch (DataFormatException e) {
+            log.debug("zlib stream corrupt: {}", e.getMessage());
+            return null;
+        } finally {
+            inflater.reset();
+        }
+    }
+
+    private static byte[] buffer(ThreadLocal<byte[]> holder, int size) {
+        byte[] buffer = holder.get();
+        if (buffer.length < size) {
+            buffer = new byte[size];
+            if (size <= MAX_RETAINED_BUFFER_SIZE) {
+                holder.set(buffer);
+            }
+        }
+        return buffer;
+    }
+
+    private static byte[] grow(ThreadLocal<byte[]> holder, byte[] buffer, int limit) {
+        byte[] grown = Arrays.copyOf(buffer, Math.min(buffer.length * 2, limit));
+        if (grown.length <= MAX_RETAINED_BUFFER_SIZE) {
+            holder.set(grown);
+        }
+        return grown;
+    }
+}
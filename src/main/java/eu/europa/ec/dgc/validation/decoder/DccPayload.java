@@ -0,0 +1,17 @@
+package eu.europa.ec.dgc.validation.decoder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.upokecenter.cbor.CBORObject;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * CWT payload of a DCC decoded once into a CBOR tree and the hcert JSON tree.
+ */
+@Getter
+@RequiredArgsConstructor
+public class DccPayload {
+    private final CBORObject claims;
+    private final String hcertJson;
+    private final JsonNode hcert;
+}
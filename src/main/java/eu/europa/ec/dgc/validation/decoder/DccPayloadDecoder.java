@@ -0,0 +1,85 @@
+package eu.europa.ec.dgc.validation.decoder;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upokecenter.cbor.CBORObject;
+import com.upokecenter.cbor.CBORType;
+import dgca.verifier.app.decoder.cbor.GreenCertificateData;
+import dgca.verifier.app.decoder.model.GreenCertificate;
+import dgca.verifier.app.decoder.model.VerificationResult;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decodes the CWT payload of a DCC with a single CBOR parse.
+ * The resulting tree feeds schema validation, the GreenCertificate mapping and the rule engine.
+ */
+@Slf4j
+public class DccPayloadDecoder {
+    private static final CBORObject CLAIM_ISSUER = CBORObject.FromObject(1);
+    private static final CBORObject CLAIM_EXPIRATION = CBORObject.FromObject(4);
+    private static final CBORObject CLAIM_ISSUED_AT = CBORObject.FromObject(6);
+    private static final CBORObject CLAIM_HCERT = CBORObject.FromObject(-260);
+    private static final CBORObject HCERT_EU_DGC_V1 = CBORObject.FromObject(1);
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    /**
+     * decode cwt payload.
+     * @param cbor cbor payload of the cose message
+     * @return payload or null if the payload does not carry a hcert
+     */
+    public DccPayload decode(byte[] cbor) {
+        try {
+            CBORObject claims = CBORObject.DecodeFromBytes(cbor);
+            if (claims.getType() != CBORType.Map) {
+                return null;
+            }
+            CBORObject hcert = claims.get(CLAIM_HCERT);
+            if (hcert == null || hcert.getType() != CBORType.Map) {
+                return null;
+            }
+            CBORObject dgc = hcert.get(HCERT_EU_DGC_V1);
+            if (dgc == null) {
+                return null;
+            }
+            String hcertJson = dgc.ToJSONString();
+            return new DccPayload(claims, hcertJson, objectMapper.readTree(hcertJson));
+        } catch (Exception e) {
+            log.debug("can not decode cwt payload: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * map decoded payload to green certificate data.
+     * @param dccPayload dccPayload
+     * @param verificationResult verificationResult
+     * @return green certificate data or null if the claims can not be mapped
+     */
+    public GreenCertificateData toGreenCertificateData(DccPayload dccPayload, VerificationResult verificationResult) {
+        verificationResult.setCborDecoded(false);
+        try {
+            CBORObject claims = dccPayload.getClaims();
+            String issuingCountry = claims.get(CLAIM_ISSUER).AsString();
+            ZonedDateTime issuedAt = toDateTime(claims.get(CLAIM_ISSUED_AT));
+            ZonedDateTime expirationTime = toDateTime(claims.get(CLAIM_EXPIRATION));
+            GreenCertificate greenCertificate = objectMapper.treeToValue(dccPayload.getHcert(),
+                GreenCertificate.class);
+            GreenCertificateData greenCertificateData = new GreenCertificateData(issuingCountry,
+                dccPayload.getHcertJson(), greenCertificate, issuedAt, expirationTime);
+            verificationResult.setCborDecoded(true);
+            return greenCertificateData;
+        } catch (Exception e) {
+            log.debug("can not map cwt payload: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static ZonedDateTime toDateTime(CBORObject epochSeconds) {
+        return Instant.ofEpochSecond(epochSeconds.AsNumber().ToInt64Checked()).atZone(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,132 @@
+package eu.europa.ec.dgc.validation.decoder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SpecVersion;
+import com.networknt.schema.ValidationMessage;
+import dgca.verifier.app.decoder.JsonSchemaKt;
+import dgca.verifier.app.decoder.model.VerificationResult;
+import eu.europa.ec.dgc.validation.exception.DccException;
+import eu.europa.ec.dgc.validation.utils.CacheStatistics;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Validates the hcert JSON tree of a DCC against the DCC JSON schema.
+ * One schema is compiled per schema version family (major.minor of the hcert ver field) on first use.
+ * A version specific schema is taken from the classpath (schemas/dcc-major.minor.json) if present,
+ * otherwise the family shares the compiled schema bundled with the decoder.
+ */
+@Slf4j
+public class DccSchemaValidator {
+    static final String DEFAULT_VERSION = "default";
+    private static final String SCHEMA_KEYWORD = "$schema";
+    private static final String SCHEMA_RESOURCE = "/schemas/dcc-%s.json";
+    private static final int MAX_VERSION_FAMILIES = 32;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonSchema defaultSchema = compile(DEFAULT_VERSION, JsonSchemaKt.JSON_SCHEMA_V1);
+    private final Map<String, JsonSchema> schemas = new ConcurrentHashMap<>();
+    @Getter
+    private final CacheStatistics statistics = new CacheStatistics();
+
+    /**
+     * validate hcert.
+     * @param hcert hcert json tree
+     * @param verificationResult verificationResult
+     * @return true if the hcert matches the schema
+     */
+    public boolean validate(JsonNode hcert, VerificationResult verificationResult) {
+        Set<ValidationMessage> errors = schemaFor(versionFamily(hcert)).validate(hcert);
+        if (!errors.isEmpty()) {
+            log.debug("schema validation failed: {}", errors);
+        }
+        verificationResult.setSchemaValid(errors.isEmpty());
+        return verificationResult.isSchemaValid();
+    }
+
+    /**
+     * number of version families seen so far.
+     * @return size
+     */
+    public int getVersionFamilies() {
+        return schemas.size();
+    }
+
+    private JsonSchema schemaFor(String versionFamily) {
+        JsonSchema schema = schemas.get(versionFamily);
+        if (schema != null) {
+            statistics.hit();
+            return schema;
+        }
+        statistics.miss();
+        if (schemas.size() >= MAX_VERSION_FAMILIES) {
+            // do not let arbitrary ver values grow the cache
+            return defaultSchema;
+        }
+        return schemas.computeIfAbsent(versionFamily, this::resolve);
+    }
+
+    static String versionFamily(JsonNode hcert) {
+        JsonNode version = hcert.get("ver");
+        if (version == null || !version.isTextual()) {
+            return DEFAULT_VERSION;
+        }
+        String[] parts = version.textValue().split("\\.");
+        if (parts.length < 2 || !isNumber(parts[0]) || !isNumber(parts[1])) {
+            return DEFAULT_VERSION;
+        }
+        return Integer.parseInt(parts[0]) + "." + Integer.parseInt(parts[1]);
+    }
+
+    private static boolean isNumber(String part) {
+        if (part.isEmpty() || part.length() > 3) {
+            return false;
+        }
+        for (int i = 0; i < part.length(); i++) {
+            if (!Character.isDigit(part.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private JsonSchema resolve(String versionFamily) {
+        if (DEFAULT_VERSION.equals(versionFamily)) {
+            return defaultSchema;
+        }
+        try (InputStream is = DccSchemaValidator.class.getResourceAsStream(
+            String.format(SCHEMA_RESOURCE, versionFamily))) {
+            if (is == null) {
+                return defaultSchema;
+            }
+            return compile(versionFamily, new String(is.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new DccException("can not read dcc schema", e);
+        }
+    }
+
+    private JsonSchema compile(String versionFamily, String schemaJson) {
+        try {
+            JsonNode schemaNode = objectMapper.readTree(schemaJson);
+            if (schemaNode.has(SCHEMA_KEYWORD)) {
+                // the DCC schemas declare a newer draft, the keywords they use are all covered by 2019-09
+                ((ObjectNode) schemaNode).remove(SCHEMA_KEYWORD);
+            }
+            JsonSchema schema = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V201909).getSchema(schemaNode);
+            log.info("compiled dcc schema for version {}", versionFamily);
+            return schema;
+        } catch (Exception e) {
+            throw new DccException("can not compile dcc schema", e);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package eu.europa.ec.dgc.validation.pipeline;
+
+/**
+ * Declared cost of a validation stage, cheap stages should run ahead of expensive ones.
+ */
+public enum CostClass {
+    CHEAP, MODERATE, EXPENSIVE
+}
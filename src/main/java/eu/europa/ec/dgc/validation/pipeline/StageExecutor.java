@@ -0,0 +1,100 @@
+package eu.europa.ec.dgc.validation.pipeline;
+
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded executor for validation stages running in parallel.
+ * When the executor is saturated the stage runs on the calling thread.
+ */
+@Slf4j
+@Component
+public class StageExecutor {
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * constructor.
+     * @param dgcConfigProperties dgcConfigProperties
+     */
+    public StageExecutor(DgcConfigProperties dgcConfigProperties) {
+        DgcConfigProperties.ParallelValidation config = dgcConfigProperties.getParallelValidation();
+        if (config.isEnabled()) {
+            AtomicInteger threadCount = new AtomicInteger();
+            ThreadFactory threadFactory = runnable -> {
+                Thread thread = new Thread(runnable, "validation-stage-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            executor = new ThreadPoolExecutor(config.getThreads(), config.getThreads(), 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(config.getQueueSize()), threadFactory,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+            log.info("parallel validation enabled with {} threads", config.getThreads());
+        } else {
+            executor = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return executor != null;
+    }
+
+    /**
+     * stage running two independent stages at the same time.
+     * Both stages work on forked contexts, their results are merged in declaration order
+     * so the output is the same as running them one after the other.
+     * @param name name
+     * @param first first stage, runs on the executor
+     * @param second second stage, runs on the calling thread
+     * @return parallel stage
+     */
+    public ValidationStage parallel(String name, ValidationStage first, ValidationStage second) {
+        CostClass costClass = first.getCostClass().compareTo(second.getCostClass()) >= 0
+            ? first.getCostClass() : second.getCostClass();
+        return ValidationStage.of(name, costClass, context -> {
+            ValidationContext firstContext = context.fork();
+            ValidationContext secondContext = context.fork();
+            Future<StageResult> firstResult = executor.submit(() -> first.apply(firstContext));
+            final StageResult secondResult = second.apply(secondContext);
+            StageResult result = await(firstResult);
+            context.getResults().addAll(firstContext.getResults());
+            if (result == StageResult.STOP) {
+                return result;
+            }
+            context.getResults().addAll(secondContext.getResults());
+            return secondResult;
+        });
+    }
+
+    private static StageResult await(Future<StageResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("validation stage interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("validation stage failed", e.getCause());
+        }
+    }
+
+    /**
+     * terminate.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
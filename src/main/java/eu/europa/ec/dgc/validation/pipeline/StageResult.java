@@ -0,0 +1,11 @@
+package eu.europa.ec.dgc.validation.pipeline;
+
+/**
+ * Outcome of a validation stage.
+ */
+public enum StageResult {
+    /** continue with the next stage. */
+    CONTINUE,
+    /** short-circuit, the results collected so far are final. */
+    STOP
+}
@@ -0,0 +1,47 @@
+package eu.europa.ec.dgc.validation.pipeline;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Invocation, short-circuit and time counters of a validation stage.
+ */
+public class StageStatistics {
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder shortCircuits = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+
+    void record(long nanos, StageResult stageResult) {
+        invocations.increment();
+        totalNanos.add(nanos);
+        if (stageResult == StageResult.STOP) {
+            shortCircuits.increment();
+        }
+    }
+
+    public long getInvocations() {
+        return invocations.sum();
+    }
+
+    public long getShortCircuits() {
+        return shortCircuits.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * average time per invocation.
+     * @return average nanos or 0 if the stage was not invoked yet
+     */
+    public long getAverageNanos() {
+        long count = invocations.sum();
+        return count == 0 ? 0 : totalNanos.sum() / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("invocations=%d, shortCircuits=%d, averageNanos=%d",
+            getInvocations(), getShortCircuits(), getAverageNanos());
+    }
+}
@@ -0,0 +1,41 @@
+package eu.europa.ec.dgc.validation.pipeline;
+
+import dgca.verifier.app.decoder.model.VerificationResult;
+import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenConditions;
+import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenType;
+import eu.europa.ec.dgc.validation.restapi.dto.ValidationStatusResponse;
+import eu.europa.ec.dgc.validation.service.DecodedDcc;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+/**
+ * State of a single dcc validation passed from stage to stage.
+ */
+@Getter
+@Setter
+@RequiredArgsConstructor
+public class ValidationContext {
+    private final byte[] dcc;
+    private final AccessTokenConditions accessTokenConditions;
+    private final AccessTokenType accessTokenType;
+    private final boolean ignoreExpire;
+    private final Locale locale;
+    private final List<ValidationStatusResponse.Result> results = new ArrayList<>();
+    private final VerificationResult verificationResult = new VerificationResult();
+    private DecodedDcc decodedDcc;
+
+    /**
+     * copy of this context with its own results and verification result, used for stages running in parallel.
+     * @return forked context
+     */
+    public ValidationContext fork() {
+        ValidationContext fork = new ValidationContext(dcc, accessTokenConditions, accessTokenType, ignoreExpire,
+            locale);
+        fork.setDecodedDcc(decodedDcc);
+        return fork;
+    }
+}
@@ -0,0 +1,55 @@
+package eu.europa.ec.dgc.validation.pipeline;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ordered list of validation stages.
+ * Stages run in order until one of them short-circuits, each stage is timed separately.
+ */
+@Slf4j
+public class ValidationPipeline {
+    private final List<ValidationStage> stages;
+    private final Map<String, StageStatistics> statistics = new LinkedHashMap<>();
+
+    /**
+     * constructor.
+     * @param stages stages in execution order
+     */
+    public ValidationPipeline(List<ValidationStage> stages) {
+        this.stages = Collections.unmodifiableList(new ArrayList<>(stages));
+        for (ValidationStage stage : stages) {
+            statistics.put(stage.getName(), new StageStatistics());
+        }
+    }
+
+    /**
+     * run stages.
+     * @param context context
+     * @return context
+     */
+    public ValidationContext run(ValidationContext context) {
+        for (ValidationStage stage : stages) {
+            long start = System.nanoTime();
+            StageResult stageResult = stage.apply(context);
+            statistics.get(stage.getName()).record(System.nanoTime() - start, stageResult);
+            if (stageResult == StageResult.STOP) {
+                log.debug("validation stopped at stage {}", stage.getName());
+                break;
+            }
+        }
+        return context;
+    }
+
+    public List<ValidationStage> getStages() {
+        return stages;
+    }
+
+    public Map<String, StageStatistics> getStatistics() {
+        return Collections.unmodifiableMap(statistics);
+    }
+}
@@ -0,0 +1,46 @@
+package eu.europa.ec.dgc.validation.pipeline;
+
+import java.util.function.Function;
+
+/**
+ * Single step of the dcc validation pipeline.
+ */
+public interface ValidationStage {
+
+    String getName();
+
+    CostClass getCostClass();
+
+    /**
+     * apply the stage.
+     * @param context validation context, results are added to it
+     * @return whether the pipeline continues
+     */
+    StageResult apply(ValidationContext context);
+
+    /**
+     * create stage from function.
+     * @param name name
+     * @param costClass costClass
+     * @param function stage function
+     * @return stage
+     */
+    static ValidationStage of(String name, CostClass costClass, Function<ValidationContext, StageResult> function) {
+        return new ValidationStage() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public CostClass getCostClass() {
+                return costClass;
+            }
+
+            @Override
+            public StageResult apply(ValidationContext context) {
+                return function.apply(context);
+            }
+        };
+    }
+}
@@ -22,6 +22,7 @@ package eu.europa.ec.dgc.validation.repository;
 
 import eu.europa.ec.dgc.validation.entity.BusinessRuleEntity;
 import eu.europa.ec.dgc.validation.restapi.dto.BusinessRuleListItemDto;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.JpaRepository;
 
@@ -33,5 +34,7 @@ public interface BusinessRuleRepository extends JpaRepository<BusinessRuleEntity
 
     BusinessRuleEntity findOneByCountryAndHash(String country, String hash);
 
+    List<BusinessRuleEntity> findAllByHashIn(Collection<String> hashes);
+
     void deleteByHashNotIn(List<String> hashes);
 }
\ No newline at end of file
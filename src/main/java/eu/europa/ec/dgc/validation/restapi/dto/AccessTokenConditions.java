@@ -1,6 +1,12 @@
 package eu.europa.ec.dgc.validation.restapi.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.time.ZonedDateTime;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Setter;
+import lombok.ToString;
 
 @Data
 public class AccessTokenConditions {
@@ -62,4 +68,79 @@ public class AccessTokenConditions {
      * DCC must be valid minimum to this date (ISO8601 with offset).
      */
     private String validTo;
+
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient ZonedDateTime validationClockTime;
+
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient ZonedDateTime validFromTime;
+
+    @JsonIgnore
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient ZonedDateTime validToTime;
+
+    public void setValidationClock(String validationClock) {
+        this.validationClock = validationClock;
+        this.validationClockTime = null;
+    }
+
+    public void setValidFrom(String validFrom) {
+        this.validFrom = validFrom;
+        this.validFromTime = null;
+    }
+
+    public void setValidTo(String validTo) {
+        this.validTo = validTo;
+        this.validToTime = null;
+    }
+
+    /**
+     * validation clock, parsed once.
+     * @return validation clock or null if not set
+     */
+    @JsonIgnore
+    public ZonedDateTime getValidationClockTime() {
+        ZonedDateTime parsed = validationClockTime;
+        if (parsed == null && validationClock != null) {
+            parsed = ZonedDateTime.parse(validationClock);
+            validationClockTime = parsed;
+        }
+        return parsed;
+    }
+
+    /**
+     * valid from, parsed once.
+     * @return valid from or null if not set
+     */
+    @JsonIgnore
+    public ZonedDateTime getValidFromTime() {
+        ZonedDateTime parsed = validFromTime;
+        if (parsed == null && validFrom != null) {
+            parsed = ZonedDateTime.parse(validFrom);
+            validFromTime = parsed;
+        }
+        return parsed;
+    }
+
+    /**
+     * valid to, parsed once.
+     * @return valid to or null if not set
+     */
+    @JsonIgnore
+    public ZonedDateTime getValidToTime() {
+        ZonedDateTime parsed = validToTime;
+        if (parsed == null && validTo != null) {
+            parsed = ZonedDateTime.parse(validTo);
+            validToTime = parsed;
+        }
+        return parsed;
+    }
 }
@@ -0,0 +1,122 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenPayload;
+import eu.europa.ec.dgc.validation.token.AccessTokenParser;
+import eu.europa.ec.dgc.validation.utils.CacheStatistics;
+import eu.europa.ec.dgc.validation.utils.ExpiringCache;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Verifies access tokens in one step: the header is decoded for kid and alg, then the token is verified
+ * with the parser of the kid and the claims are mapped to the typed payload.
+ * Verified payloads are cached by the SHA-256 of the compact token, so repeated requests with the same
+ * token skip the signature verification. A cached payload is only served while its kid still maps to the
+ * key it was verified with and until it expires, claims that depend on the request are checked by the caller.
+ */
+@Service
+@Slf4j
+public class AccessTokenVerifier {
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final AccessTokenParser accessTokenParser;
+    private final AccessTokenKeyProvider accessTokenKeyProvider;
+    private final ExpiringCache<ByteBuffer, VerifiedToken> cache;
+
+    /**
+     * constructor.
+     * @param accessTokenParser accessTokenParser
+     * @param accessTokenKeyProvider accessTokenKeyProvider
+     * @param dgcConfigProperties dgcConfigProperties
+     */
+    public AccessTokenVerifier(AccessTokenParser accessTokenParser, AccessTokenKeyProvider accessTokenKeyProvider,
+                               DgcConfigProperties dgcConfigProperties) {
+        this.accessTokenParser = accessTokenParser;
+        this.accessTokenKeyProvider = accessTokenKeyProvider;
+        DgcConfigProperties.CacheConfig config = dgcConfigProperties.getAccessTokenCache();
+        this.cache = new ExpiringCache<>(config.getMaxSize(), Duration.ofSeconds(config.getExpire()));
+        log.info("access token cache maxSize={} expire={}s", config.getMaxSize(), config.getExpire());
+    }
+
+    /**
+     * verify access token.
+     * The returned payload may be shared between requests and must not be modified.
+     * @param jwtCompact compact token without prefix
+     * @return verified payload or null if the token is not valid
+     */
+    public AccessTokenPayload verify(String jwtCompact) {
+        ByteBuffer key = ByteBuffer.wrap(SHA256.get().digest(jwtCompact.getBytes(StandardCharsets.US_ASCII)));
+        VerifiedToken verifiedToken = cache.get(key);
+        if (verifiedToken != null && verifiedToken.isValid(accessTokenKeyProvider.getPublicKey(verifiedToken.kid))) {
+            return verifiedToken.payload;
+        }
+        verifiedToken = verifyToken(jwtCompact);
+        if (verifiedToken != null) {
+            cache.put(key, verifiedToken);
+            return verifiedToken.payload;
+        }
+        return null;
+    }
+
+    private VerifiedToken verifyToken(String jwtCompact) {
+        try {
+            Map<String, Object> header = accessTokenParser.parseHeader(jwtCompact);
+            Object kid = header.get("kid");
+            if (!(kid instanceof String)) {
+                log.warn("revoke access token: kid was not found");
+                return null;
+            }
+            Object alg = header.get("alg");
+            if (!"RS256".equals(alg) && !"ES256".equals(alg) && !"PS256".equals(alg)) {
+                log.warn("revoke access token: {}", alg == null ? "missing algorithm" : "unsupported algorithm");
+                return null;
+            }
+            PublicKey publicKey = accessTokenKeyProvider.getPublicKey((String) kid);
+            AccessTokenPayload payload = accessTokenParser.verifyToken(jwtCompact, (String) kid, publicKey);
+            return new VerifiedToken((String) kid, publicKey, payload);
+        } catch (Exception e) {
+            log.warn("revoke access token: parsing", e);
+            return null;
+        }
+    }
+
+    public CacheStatistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private static final class VerifiedToken {
+        private final String kid;
+        private final PublicKey publicKey;
+        private final AccessTokenPayload payload;
+
+        private VerifiedToken(String kid, PublicKey publicKey, AccessTokenPayload payload) {
+            this.kid = kid;
+            this.publicKey = publicKey;
+            this.payload = payload;
+        }
+
+        private boolean isValid(PublicKey currentKey) {
+            return currentKey == publicKey
+                && (payload.getExp() == 0 || payload.getExp() >= Instant.now().getEpochSecond());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package eu.europa.ec.dgc.validation.service;
+
+import dgca.verifier.app.engine.data.Rule;
+import java.util.List;
+
+/**
+ * Rules applicable for a validation together with the version of the rules snapshot they were taken from.
+ */
+public final class ApplicableRules {
+    private final long version;
+    private final List<Rule> rules;
+
+    public ApplicableRules(long version, List<Rule> rules) {
+        this.version = version;
+        this.rules = rules;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+}
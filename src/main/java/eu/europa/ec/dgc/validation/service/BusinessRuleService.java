@@ -29,11 +29,13 @@ import eu.europa.ec.dgc.validation.restapi.dto.BusinessRuleListItemDto;
 import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -47,6 +49,8 @@ public class BusinessRuleService {
 
     private final CertificateUtils certificateUtils;
 
+    private final ApplicationEventPublisher applicationEventPublisher;
+
     /**
      * Gets list of all business rules ids and hashes.
      */
@@ -79,6 +83,18 @@ public class BusinessRuleService {
         return businessRuleRepository.findOneByCountryAndHash(country, hash);
     }
 
+    /**
+     * Gets business rules by their hash values.
+     *
+     * @param hashes hash values of the rules
+     * @return stored rules, hashes without stored rule are skipped
+     */
+    @Transactional
+    public List<BusinessRuleEntity> getBusinessRulesByHashes(Collection<String> hashes) {
+
+        return businessRuleRepository.findAllByHashIn(hashes);
+    }
+
     /**
      * Updates the list of business rules.
      *
@@ -101,6 +117,7 @@ public class BusinessRuleService {
                 saveBusinessRule(rule);
             }
         }
+        applicationEventPublisher.publishEvent(new BusinessRulesUpdatedEvent());
     }
 
     /**
@@ -0,0 +1,7 @@
+package eu.europa.ec.dgc.validation.service;
+
+/**
+ * Published after the stored business rules were updated.
+ */
+public class BusinessRulesUpdatedEvent {
+}
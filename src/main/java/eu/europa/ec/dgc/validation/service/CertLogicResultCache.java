@@ -0,0 +1,162 @@
+package eu.europa.ec.dgc.validation.service;
+
+import dgca.verifier.app.engine.ValidationResult;
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.utils.CacheStatistics;
+import eu.europa.ec.dgc.validation.utils.ExpiringCache;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Memo of CertLogic results keyed by rules version, value sets version, hcert, kid, validation clock
+ * and country/region of arrival. The cache is cleared whenever a newer rules or value sets version shows up,
+ * evaluations against outdated versions are not cached.
+ */
+@Component
+@Slf4j
+public class CertLogicResultCache {
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final ExpiringCache<Key, List<ValidationResult>> cache;
+    private volatile long rulesVersion;
+    private volatile long valueSetsVersion;
+
+    /**
+     * constructor.
+     * @param dgcConfigProperties dgcConfigProperties
+     */
+    public CertLogicResultCache(DgcConfigProperties dgcConfigProperties) {
+        DgcConfigProperties.CacheConfig config = dgcConfigProperties.getCertLogicResultCache();
+        cache = new ExpiringCache<>(config.getMaxSize(), Duration.ofSeconds(config.getExpire()));
+        log.info("certlogic result cache maxSize={} expire={}s", config.getMaxSize(), config.getExpire());
+    }
+
+    /**
+     * key of an evaluation.
+     * @param rulesVersion rulesVersion
+     * @param valueSetsVersion valueSetsVersion
+     * @param hcertJson hcertJson
+     * @param kid kid base64
+     * @param issuingCountry issuingCountry
+     * @param expirationTime expirationTime
+     * @param issuedAt issuedAt
+     * @param validationClock validationClock
+     * @param countryOfArrival countryOfArrival
+     * @param regionOfArrival regionOfArrival
+     * @return key
+     */
+    public Key key(long rulesVersion, long valueSetsVersion, String hcertJson, String kid, String issuingCountry,
+                   ZonedDateTime expirationTime, ZonedDateTime issuedAt, ZonedDateTime validationClock,
+                   String countryOfArrival, String regionOfArrival) {
+        ByteBuffer hcertHash = ByteBuffer.wrap(SHA256.get().digest(hcertJson.getBytes(StandardCharsets.UTF_8)));
+        return new Key(rulesVersion, valueSetsVersion, hcertHash, kid, issuingCountry, expirationTime, issuedAt,
+            validationClock, countryOfArrival, regionOfArrival);
+    }
+
+    /**
+     * get cached results or evaluate.
+     * @param key key
+     * @param evaluation evaluation
+     * @return results
+     */
+    public List<ValidationResult> get(Key key, Supplier<List<ValidationResult>> evaluation) {
+        if (key.rulesVersion > rulesVersion || key.valueSetsVersion > valueSetsVersion) {
+            synchronized (this) {
+                if (key.rulesVersion > rulesVersion || key.valueSetsVersion > valueSetsVersion) {
+                    log.debug("rules or value sets changed, clearing certlogic result cache");
+                    cache.clear();
+                    rulesVersion = Math.max(rulesVersion, key.rulesVersion);
+                    valueSetsVersion = Math.max(valueSetsVersion, key.valueSetsVersion);
+                }
+            }
+        }
+        if (key.rulesVersion < rulesVersion || key.valueSetsVersion < valueSetsVersion) {
+            return evaluation.get();
+        }
+        return cache.get(key, k -> Collections.unmodifiableList(evaluation.get()));
+    }
+
+    public CacheStatistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * cache key.
+     */
+    public static final class Key {
+        private final long rulesVersion;
+        private final long valueSetsVersion;
+        private final ByteBuffer hcertHash;
+        private final String kid;
+        private final String issuingCountry;
+        private final ZonedDateTime expirationTime;
+        private final ZonedDateTime issuedAt;
+        private final ZonedDateTime validationClock;
+        private final String countryOfArrival;
+        private final String regionOfArrival;
+        private final int hashCode;
+
+        private Key(long rulesVersion, long valueSetsVersion, ByteBuffer hcertHash, String kid,
+                    String issuingCountry, ZonedDateTime expirationTime, ZonedDateTime issuedAt,
+                    ZonedDateTime validationClock, String countryOfArrival, String regionOfArrival) {
+            this.rulesVersion = rulesVersion;
+            this.valueSetsVersion = valueSetsVersion;
+            this.hcertHash = hcertHash;
+            this.kid = kid;
+            this.issuingCountry = issuingCountry;
+            this.expirationTime = expirationTime;
+            this.issuedAt = issuedAt;
+            this.validationClock = validationClock;
+            this.countryOfArrival = countryOfArrival;
+            this.regionOfArrival = regionOfArrival;
+            this.hashCode = Objects.hash(rulesVersion, valueSetsVersion, hcertHash, kid, issuingCountry,
+                expirationTime, issuedAt, validationClock, countryOfArrival, regionOfArrival);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return rulesVersion == other.rulesVersion
+                && valueSetsVersion == other.valueSetsVersion
+                && hcertHash.equals(other.hcertHash)
+                && Objects.equals(kid, other.kid)
+                && Objects.equals(issuingCountry, other.issuingCountry)
+                && Objects.equals(expirationTime, other.expirationTime)
+                && Objects.equals(issuedAt, other.issuedAt)
+                && Objects.equals(validationClock, other.validationClock)
+                && Objects.equals(countryOfArrival, other.countryOfArrival)
+                && Objects.equals(regionOfArrival, other.regionOfArrival);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package eu.europa.ec.dgc.validation.service;
+
+import com.upokecenter.cbor.CBORObject;
+import com.upokecenter.cbor.CBORType;
+import dgca.verifier.app.decoder.cose.CryptoService;
+import dgca.verifier.app.decoder.cose.VerificationCryptoService;
+import dgca.verifier.app.decoder.model.VerificationResult;
+import dgca.verifier.app.decoder.services.X509;
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.utils.CacheStatistics;
+import eu.europa.ec.dgc.validation.utils.ExpiringCache;
+import java.math.BigInteger;
+import java.security.InvalidKeyException;
+import java.security.PublicKey;
+import java.security.cert.Certificate;
+import java.security.interfaces.ECPublicKey;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.crypto.Digest;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.digests.SHA384Digest;
+import org.bouncycastle.crypto.digests.SHA512Digest;
+import org.bouncycastle.crypto.params.ECPublicKeyParameters;
+import org.bouncycastle.crypto.signers.ECDSASigner;
+import org.bouncycastle.jcajce.provider.asymmetric.util.ECUtil;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.math.ec.WNafUtil;
+import org.springframework.stereotype.Component;
+
+/**
+ * Verifies COSE_Sign1 signatures of DCCs.
+ * ECDSA signatures (ES256, ES384, ES512) are verified with BouncyCastle directly on cached key parameters,
+ * the window NAF tables of the signer key points are precomputed once and kept with the key in a bounded
+ * LRU, so hot signer keys skip the point precomputation on every verification. Other algorithms and
+ * messages that can not be handled here are verified by the generic crypto service.
+ */
+@Slf4j
+@Component
+public class CoseSignatureVerifier {
+    private static final int COSE_SIGN1_TAG = 18;
+    private static final CBORObject HEADER_ALGORITHM = CBORObject.FromObject(1);
+    private static final int ES256 = -7;
+    private static final int ES384 = -35;
+    private static final int ES512 = -36;
+    private static final byte[] EMPTY = new byte[0];
+
+    private final CryptoService fallback;
+    private final ExpiringCache<PublicKey, ECPublicKeyParameters> signerKeys;
+    private final LongAdder directVerifications = new LongAdder();
+    private final LongAdder fallbackVerifications = new LongAdder();
+
+    public CoseSignatureVerifier(DgcConfigProperties dgcConfigProperties) {
+        this(new VerificationCryptoService(new X509()), dgcConfigProperties.getSignerKeyCache());
+    }
+
+    CoseSignatureVerifier(CryptoService fallback, DgcConfigProperties.CacheConfig config) {
+        this.fallback = fallback;
+        this.signerKeys = new ExpiringCache<>(config.getMaxSize(), Duration.ofSeconds(config.getExpire()));
+    }
+
+    /**
+     * validate cose signature, sets coseVerified of the verification result.
+     * @param cose cose message
+     * @param certificate signer certificate
+     * @param verificationResult verificationResult
+     */
+    public void validate(byte[] cose, Certificate certificate, VerificationResult verificationResult) {
+        Boolean verified;
+        try {
+            verified = verifyEcdsa(cose, certificate.getPublicKey());
+        } catch (RuntimeException e) {
+            log.debug("direct cose verification failed: {}", e.getMessage());
+            verified = null;
+        }
+        if (verified == null) {
+            fallbackVerifications.increment();
+            fallback.validate(cose, certificate, verificationResult);
+        } else {
+            directVerifications.increment();
+            verificationResult.setCoseVerified(verified);
+        }
+    }
+
+    /**
+     * verify ecdsa signed message.
+     * @return verification result or null if the message or key is not supported
+     */
+    private Boolean verifyEcdsa(byte[] cose, PublicKey publicKey) {
+        if (!(publicKey instanceof ECPublicKey)) {
+            return null;
+        }
+        CBORObject message = CBORObject.DecodeFromBytes(cose);
+        if (message.HasMostOuterTag(COSE_SIGN1_TAG)) {
+            message = message.UntagOne();
+        }
+        if (message.getType() != CBORType.Array || message.size() != 4) {
+            return null;
+        }
+        byte[] protectedHeader = message.get(0).GetByteString();
+        Digest digest = digest(algorithm(protectedHeader, message.get(1)));
+        ECPublicKeyParameters keyParameters = signerKeys.get(publicKey, CoseSignatureVerifier::keyParameters);
+        if (digest == null || keyParameters == null) {
+            return null;
+        }
+        byte[] signature = message.get(3).GetByteString();
+        int fieldBytes = (keyParameters.getParameters().getCurve().getFieldSize() + 7) / 8;
+        if (signature.length != 2 * fieldBytes) {
+            return false;
+        }
+        byte[] toBeSigned = CBORObject.NewArray()
+            .Add("Signature1")
+            .Add(protectedHeader)
+            .Add(EMPTY)
+            .Add(message.get(2).GetByteString())
+            .EncodeToBytes();
+        byte[] hash = new byte[digest.getDigestSize()];
+        digest.update(toBeSigned, 0, toBeSigned.length);
+        digest.doFinal(hash, 0);
+
+        ECDSASigner signer = new ECDSASigner();
+        signer.init(false, keyParameters);
+        return signer.verifySignature(hash,
+            new BigInteger(1, Arrays.copyOfRange(signature, 0, fieldBytes)),
+            new BigInteger(1, Arrays.copyOfRange(signature, fieldBytes, signature.length)));
+    }
+
+    private static Integer algorithm(byte[] protectedHeader, CBORObject unprotectedHeader) {
+        CBORObject algorithm = null;
+        if (protectedHeader.length > 0) {
+            CBORObject header = CBORObject.DecodeFromBytes(protectedHeader);
+            if (header.getType() == CBORType.Map) {
+                algorithm = header.get(HEADER_ALGORITHM);
+            }
+        }
+        if (algorithm == null && unprotectedHeader.getType() == CBORType.Map) {
+            algorithm = unprotectedHeader.get(HEADER_ALGORITHM);
+        }
+        return algorithm == null || !algorithm.isNumber() ? null : algorithm.AsNumber().ToInt32Checked();
+    }
+
+    private static Digest digest(Integer algorithm) {
+        if (algorithm == null) {
+            return null;
+        }
+        switch (algorithm) {
+            case ES256:
+                return new SHA256Digest();
+            case ES384:
+                return new SHA384Digest();
+            case ES512:
+                return new SHA512Digest();
+            default:
+                return null;
+        }
+    }
+
+    private static ECPublicKeyParameters keyParameters(PublicKey publicKey) {
+        try {
+            ECPublicKeyParameters keyParameters = (ECPublicKeyParameters) ECUtil.generatePublicKeyParameter(publicKey);
+            ECPoint q = keyParameters.getQ();
+            WNafUtil.precompute(q, WNafUtil.getWindowSize(q.getCurve().getFieldSize()), true);
+            return keyParameters;
+        } catch (InvalidKeyException | RuntimeException e) {
+            log.debug("can not create ec key parameters: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    public long getDirectVerifications() {
+        return directVerifications.sum();
+    }
+
+    public long getFallbackVerifications() {
+        return fallbackVerifications.sum();
+    }
+
+    public CacheStatistics getSignerKeyStatistics() {
+        return signerKeys.getStatistics();
+    }
+
+    public int getSignerKeys() {
+        return signerKeys.size();
+    }
+}
@@ -1,6 +1,7 @@
 package eu.europa.ec.dgc.validation.service;
 
 import eu.europa.ec.dgc.validation.cryptschemas.CryptSchema;
+import eu.europa.ec.dgc.validation.cryptschemas.EcdhEsWithHkdfSha256AesGcm;
 import eu.europa.ec.dgc.validation.cryptschemas.EncryptedData;
 import eu.europa.ec.dgc.validation.cryptschemas.RsaOaepWithSha256AesCbc;
 import eu.europa.ec.dgc.validation.cryptschemas.RsaOaepWithSha256AesGcm;
@@ -26,8 +27,10 @@ public class DccCryptService {
         cryptSchemaMap = new HashMap<>();
         CryptSchema cryptSchema = new RsaOaepWithSha256AesCbc();
         CryptSchema cryptSchema2 = new RsaOaepWithSha256AesGcm();
+        CryptSchema cryptSchema3 = new EcdhEsWithHkdfSha256AesGcm();
         cryptSchemaMap.put(cryptSchema.getEncSchema(), cryptSchema);
         cryptSchemaMap.put(cryptSchema2.getEncSchema(), cryptSchema2);
+        cryptSchemaMap.put(cryptSchema3.getEncSchema(), cryptSchema3);
     }
 
     /**
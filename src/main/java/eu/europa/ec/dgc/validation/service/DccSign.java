@@ -1,6 +1,7 @@
 package eu.europa.ec.dgc.validation.service;
 
 import eu.europa.ec.dgc.validation.exception.DccException;
+import eu.europa.ec.dgc.validation.utils.CryptoPrimitives;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
@@ -22,7 +23,7 @@ public class DccSign {
      */
     public String signDcc(byte[] data, PrivateKey privateKey) {
         try {
-            Signature signature = Signature.getInstance(SIG_ALG);
+            Signature signature = CryptoPrimitives.DEFAULT.signature(SIG_ALG);
             signature.initSign(privateKey);
             signature.update(data);
             return Base64.getEncoder().encodeToString(signature.sign());
@@ -40,7 +41,7 @@ public class DccSign {
      */
     public boolean verifySignature(byte[] data, byte[] sig, PublicKey publicKey) {
         try {
-            Signature signature = Signature.getInstance(SIG_ALG);
+            Signature signature = CryptoPrimitives.DEFAULT.signature(SIG_ALG);
             signature.initVerify(publicKey);
             signature.update(data);
             return signature.verify(sig);
@@ -2,27 +2,14 @@ package eu.europa.ec.dgc.validation.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import dgca.verifier.app.decoder.base45.Base45Service;
-import dgca.verifier.app.decoder.base45.DefaultBase45Service;
-import dgca.verifier.app.decoder.cbor.CborService;
-import dgca.verifier.app.decoder.cbor.DefaultCborService;
 import dgca.verifier.app.decoder.cbor.GreenCertificateData;
-import dgca.verifier.app.decoder.compression.CompressorService;
-import dgca.verifier.app.decoder.compression.DefaultCompressorService;
 import dgca.verifier.app.decoder.cose.CoseService;
-import dgca.verifier.app.decoder.cose.CryptoService;
 import dgca.verifier.app.decoder.cose.DefaultCoseService;
-import dgca.verifier.app.decoder.cose.VerificationCryptoService;
 import dgca.verifier.app.decoder.model.CoseData;
 import dgca.verifier.app.decoder.model.GreenCertificate;
 import dgca.verifier.app.decoder.model.RecoveryStatement;
 import dgca.verifier.app.decoder.model.Test;
 import dgca.verifier.app.decoder.model.VerificationResult;
-import dgca.verifier.app.decoder.prefixvalidation.DefaultPrefixValidationService;
-import dgca.verifier.app.decoder.prefixvalidation.PrefixValidationService;
-import dgca.verifier.app.decoder.schema.DefaultSchemaValidator;
-import dgca.verifier.app.decoder.schema.SchemaValidator;
-import dgca.verifier.app.decoder.services.X509;
 import dgca.verifier.app.engine.CertLogicEngine;
 import dgca.verifier.app.engine.DateTimeKt;
 import dgca.verifier.app.engine.ValidationResult;
@@ -31,12 +18,23 @@ import dgca.verifier.app.engine.data.Rule;
 import dgca.verifier.app.engine.data.RuleCertificateType;
 import dgca.verifier.app.engine.data.Type;
 import eu.europa.ec.dgc.utils.CertificateUtils;
+import eu.europa.ec.dgc.validation.decoder.DccDecoder;
+import eu.europa.ec.dgc.validation.decoder.DccPayload;
+import eu.europa.ec.dgc.validation.decoder.DccPayloadDecoder;
+import eu.europa.ec.dgc.validation.decoder.DccSchemaValidator;
 import eu.europa.ec.dgc.validation.exception.DccException;
+import eu.europa.ec.dgc.validation.pipeline.CostClass;
+import eu.europa.ec.dgc.validation.pipeline.StageExecutor;
+import eu.europa.ec.dgc.validation.pipeline.StageResult;
+import eu.europa.ec.dgc.validation.pipeline.ValidationContext;
+import eu.europa.ec.dgc.validation.pipeline.ValidationPipeline;
+import eu.europa.ec.dgc.validation.pipeline.ValidationStage;
 import eu.europa.ec.dgc.validation.restapi.dto.AcceptableType;
 import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenConditions;
 import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenType;
 import eu.europa.ec.dgc.validation.restapi.dto.ResultTypeIdentifier;
 import eu.europa.ec.dgc.validation.restapi.dto.ValidationStatusResponse;
+import eu.europa.ec.dgc.validation.utils.IsoCountryRegistry;
 import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.Certificate;
@@ -47,63 +45,51 @@ import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Base64;
-import java.util.Hashtable;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
-import kotlin.Triple;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.HttpStatus;
-import org.springframework.context.support.ResourceBundleMessageSource;
 import org.springframework.stereotype.Service;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class DccValidator {
-    private PrefixValidationService prefixValidationService = new DefaultPrefixValidationService();
-    private Base45Service base45Service = new DefaultBase45Service();
-    private CompressorService compressorService = new DefaultCompressorService();
     private CoseService coseService = new DefaultCoseService();
-    private CborService cborService = new DefaultCborService();
-    private SchemaValidator schemaValidator = new DefaultSchemaValidator();
-    private X509 x509 = new X509();
-    private CryptoService cryptoService = new VerificationCryptoService(x509);
+    private DccPayloadDecoder dccPayloadDecoder = new DccPayloadDecoder();
+    private DccSchemaValidator dccSchemaValidator = new DccSchemaValidator();
     private final SignerInformationService signerInformationService;
     private final CertLogicEngine certLogicEngine;
     private final CertificateUtils certificateUtils;
     private final ValueSetCache valueSetCache;
     private final RulesCache rulesCache;
-    private final ResourceBundleMessageSource resourceBundleMessageSource;
+    private final ValidationMessageTable validationMessageTable;
+    private final DecodedDccCache decodedDccCache;
+    private final CertLogicResultCache certLogicResultCache;
+    private final StageExecutor stageExecutor;
+    private final CoseSignatureVerifier coseSignatureVerifier;
+    private final VerifiedSignatureCache verifiedSignatureCache;
+    private final DccDecoder dccDecoder;
+    private Map<AccessTokenType, ValidationPipeline> pipelines;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     private static final ZoneId UTC_ZONE_ID = ZoneId.ofOffset("", ZoneOffset.UTC).normalized();
 
-    /**
-     * Tries to convert String into a version based on pattern majorVersion.minorVersion.patchVersion.
-     */
-    private static Triple<Integer, Integer, Integer> toVersion(String s) {
-        try {
-            String[] versionPieces = s.split("\\.");
-            return new Triple<Integer,Integer,Integer>(Integer.valueOf(versionPieces[0]), 
-                                                       Integer.valueOf(versionPieces[1]), 
-                                                       Integer.valueOf(versionPieces[2]));
-        } catch (Exception e) {
-            return null;
-        }
-    }
-
     @PostConstruct
     public void initMapper() {
         objectMapper.registerModule(new JavaTimeModule());
     }
 
+    @PostConstruct
+    public void initPipelines() {
+        pipelines = createPipelines();
+    }
+
     /**
      * validate dcc.
      * @param dcc dcc
@@ -115,119 +101,200 @@ public class DccValidator {
     public List<ValidationStatusResponse.Result> validate(String dcc,
                                                           AccessTokenConditions accessTokenConditions,
                                                           AccessTokenType accessTokenType, boolean ignoreExpire) {
-        List<ValidationStatusResponse.Result> results = new ArrayList<>();
-        VerificationResult verificationResult = new VerificationResult();
-        String dccPlain = prefixValidationService.decode(dcc, verificationResult);
-        Locale locale;
-        if (accessTokenConditions.getLang() != null && accessTokenConditions.getLang().length() > 0) {
-            locale = Locale.forLanguageTag(accessTokenConditions.getLang());
+        return validate(dcc.getBytes(StandardCharsets.UTF_8), accessTokenConditions, accessTokenType, ignoreExpire);
+    }
+
+    /**
+     * validate dcc given as raw bytes.
+     * @param dcc dcc
+     * @param accessTokenConditions accessTokenConditions
+     * @param accessTokenType accessTokenType
+     * @param ignoreExpire ignoreExpire
+     * @return results
+     */
+    public List<ValidationStatusResponse.Result> validate(byte[] dcc,
+                                                          AccessTokenConditions accessTokenConditions,
+                                                          AccessTokenType accessTokenType, boolean ignoreExpire) {
+        ValidationContext context = new ValidationContext(dcc, accessTokenConditions, accessTokenType,
+            ignoreExpire, validationMessageTable.locale(accessTokenConditions.getLang()));
+        return pipelines.get(accessTokenType).run(context).getResults();
+    }
+
+    /**
+     * validation pipeline of access token type.
+     * @param accessTokenType accessTokenType
+     * @return pipeline
+     */
+    public ValidationPipeline getPipeline(AccessTokenType accessTokenType) {
+        return pipelines.get(accessTokenType);
+    }
+
+    private Map<AccessTokenType, ValidationPipeline> createPipelines() {
+        ValidationStage decode = ValidationStage.of("decode", CostClass.MODERATE, this::decodeStage);
+        ValidationStage expired = ValidationStage.of("expired", CostClass.CHEAP, this::expiredStage);
+        ValidationStage notValidYet = ValidationStage.of("notValidYet", CostClass.CHEAP, this::notValidYetStage);
+        ValidationStage issuerCountry = ValidationStage.of("issuerCountry", CostClass.CHEAP,
+            this::issuerCountryStage);
+        ValidationStage hash = ValidationStage.of("hash", CostClass.CHEAP, this::hashStage);
+        ValidationStage expirationDates = ValidationStage.of("expirationDates", CostClass.CHEAP,
+            context -> {
+                checkExpirationDates(context.getDecodedDcc().getGreenCertificateData(),
+                    context.getAccessTokenConditions(), context.getResults(), context.getLocale());
+                return StageResult.CONTINUE;
+            });
+        ValidationStage certType = ValidationStage.of("certType", CostClass.CHEAP,
+            context -> {
+                checkAcceptableCertType(context.getDecodedDcc().getGreenCertificateData(),
+                    context.getAccessTokenConditions(), context.getResults(), context.getLocale());
+                return StageResult.CONTINUE;
+            });
+        ValidationStage nameDob = ValidationStage.of("nameDob", CostClass.CHEAP,
+            context -> {
+                validateGreenCertificateNameDob(context.getDecodedDcc().getGreenCertificateData(),
+                    context.getAccessTokenConditions(), context.getResults(), context.getLocale());
+                return StageResult.CONTINUE;
+            });
+        ValidationStage signature = ValidationStage.of("signature", CostClass.EXPENSIVE,
+            context -> {
+                validateCryptographic(context.getDecodedDcc().getCose(), context.getDecodedDcc().getKid(),
+                    context.getAccessTokenConditions(), context.getVerificationResult(), context.getResults(),
+                    context.getLocale());
+                return StageResult.CONTINUE;
+            });
+        ValidationStage rules = ValidationStage.of("rules", CostClass.EXPENSIVE,
+            context -> {
+                validateRules(context.getDecodedDcc().getGreenCertificateData(), context.getVerificationResult(),
+                    context.getResults(), context.getAccessTokenConditions(), context.getDecodedDcc().getKid(),
+                    rulesCache, valueSetCache, context.getLocale());
+                return StageResult.CONTINUE;
+            });
+
+        Map<AccessTokenType, ValidationPipeline> pipelines = new EnumMap<>(AccessTokenType.class);
+        pipelines.put(AccessTokenType.Structure, new ValidationPipeline(List.of(
+            decode, expired, notValidYet, issuerCountry, hash, expirationDates, certType)));
+        pipelines.put(AccessTokenType.Cryptographic, new ValidationPipeline(List.of(
+            decode, expired, notValidYet, issuerCountry, expirationDates, certType, nameDob, signature)));
+        if (stageExecutor.isEnabled()) {
+            pipelines.put(AccessTokenType.Full, new ValidationPipeline(List.of(
+                decode, expired, notValidYet, issuerCountry, expirationDates, certType, nameDob,
+                stageExecutor.parallel("signatureAndRules", signature, rules))));
         } else {
-            locale = Locale.ENGLISH;
+            pipelines.put(AccessTokenType.Full, new ValidationPipeline(List.of(
+                decode, expired, notValidYet, issuerCountry, expirationDates, certType, nameDob, signature, rules)));
         }
-        if (verificationResult.getContextPrefix() == null) {
-            addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
-                ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.PREFIX, locale);
-            return results;
-        }
-        byte[] compressedCose = base45Service.decode(dccPlain, verificationResult);
-        if (!verificationResult.getBase45Decoded()) {
-            addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
-                ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.BASE45, locale);
-            return results;
-        }
-        byte[] cose = compressorService.decode(compressedCose, verificationResult);
-        if (cose == null || !verificationResult.getZlibDecoded()) {
-            addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
-                ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.COMPRESSION, locale);
-            return results;
-        }
-        CoseData coseData = coseService.decode(cose, verificationResult);
-        if (coseData == null) {
-            addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
-                ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.COSE, locale);
-            return results;
-        }
-        if (coseData.getKid() == null) {
-            addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
-                ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.KID, locale);
-            return results;
-        }
-        schemaValidator.validate(coseData.getCbor(), verificationResult);
-        if (!verificationResult.isSchemaValid()) {
-            addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
-                ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.SCHEMA, locale);
-            return results;
-        }
-        GreenCertificateData greenCertificateData = cborService.decodeData(coseData.getCbor(), verificationResult);
-        if (!verificationResult.getCborDecoded()) {
-            addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
-                ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.CBOR, locale);
-            return results;
+        return pipelines;
+    }
+
+    private StageResult decodeStage(ValidationContext context) {
+        DecodedDcc decodedDcc = decodedDccCache.get(context.getDcc(), this::decode);
+        if (!decodedDcc.isDecoded()) {
+            addResult(context.getResults(), ValidationStatusResponse.Result.ResultType.NOK,
+                ResultTypeIdentifier.TechnicalVerification, decodedDcc.getFailure(), context.getLocale());
+            return StageResult.STOP;
         }
+        context.setDecodedDcc(decodedDcc);
+        return StageResult.CONTINUE;
+    }
 
-        if (ZonedDateTime.now().isAfter(greenCertificateData.getExpirationTime()) && !ignoreExpire) {
-            addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
-                ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.EXPIRED, locale);
-            return results;
+    private StageResult expiredStage(ValidationContext context) {
+        if (ZonedDateTime.now().isAfter(context.getDecodedDcc().getGreenCertificateData().getExpirationTime())
+            && !context.isIgnoreExpire()) {
+            addResult(context.getResults(), ValidationStatusResponse.Result.ResultType.NOK,
+                ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.EXPIRED, context.getLocale());
+            return StageResult.STOP;
         }
+        return StageResult.CONTINUE;
+    }
 
-        if (ZonedDateTime.now().isBefore(greenCertificateData.getIssuedAt())) {
-            addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
-                ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.NOTVALIDYET, locale);
-            return results;
+    private StageResult notValidYetStage(ValidationContext context) {
+        if (ZonedDateTime.now().isBefore(context.getDecodedDcc().getGreenCertificateData().getIssuedAt())) {
+            addResult(context.getResults(), ValidationStatusResponse.Result.ResultType.NOK,
+                ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.NOTVALIDYET, context.getLocale());
+            return StageResult.STOP;
         }
+        return StageResult.CONTINUE;
+    }
 
-        if (!Arrays.asList(Locale.getISOCountries()).contains(greenCertificateData.getIssuingCountry())) {
-            addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
-                ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.UNKNOWNISSUERCOUNTRY, locale);
-            return results;
+    private StageResult issuerCountryStage(ValidationContext context) {
+        if (!IsoCountryRegistry.isIsoCountry(context.getDecodedDcc().getGreenCertificateData().getIssuingCountry())) {
+            addResult(context.getResults(), ValidationStatusResponse.Result.ResultType.NOK,
+                ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.UNKNOWNISSUERCOUNTRY,
+                context.getLocale());
+            return StageResult.STOP;
         }
 
-        addResult(results, ValidationStatusResponse.Result.ResultType.OK,
+        addResult(context.getResults(), ValidationStatusResponse.Result.ResultType.OK,
             ResultTypeIdentifier.TechnicalVerification, "STRUCTURE", "OK");
-        if (accessTokenConditions == null) {
+        if (context.getAccessTokenConditions() == null) {
             throw new DccException("Validation Conditions missing", HttpStatus.SC_BAD_REQUEST);
         }
+        return StageResult.CONTINUE;
+    }
 
-        if (accessTokenType == AccessTokenType.Structure) {
-            if (accessTokenConditions.getHash() == null || accessTokenConditions.getHash().length() == 0) {
-                addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
-                    ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.HASH, locale);
-            } else {
-                try {
-                    if (!certificateUtils.calculateHash(dcc.getBytes(StandardCharsets.UTF_8))
-                        .equals(accessTokenConditions.getHash())) {
-                        addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
-                            ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.HASH_NOT_MATCH, locale);
-                    } else {
-                        addResult(results, ValidationStatusResponse.Result.ResultType.OK,
-                            ResultTypeIdentifier.TechnicalVerification, "HASH", "OK");
-                    }
-                } catch (NoSuchAlgorithmException e) {
-                    throw new DccException("hash calculation", e);
+    private StageResult hashStage(ValidationContext context) {
+        AccessTokenConditions accessTokenConditions = context.getAccessTokenConditions();
+        if (accessTokenConditions.getHash() == null || accessTokenConditions.getHash().length() == 0) {
+            addResult(context.getResults(), ValidationStatusResponse.Result.ResultType.NOK,
+                ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.HASH, context.getLocale());
+        } else {
+            try {
+                if (!certificateUtils.calculateHash(context.getDcc())
+                    .equals(accessTokenConditions.getHash())) {
+                    addResult(context.getResults(), ValidationStatusResponse.Result.ResultType.NOK,
+                        ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.HASH_NOT_MATCH,
+                        context.getLocale());
+                } else {
+                    addResult(context.getResults(), ValidationStatusResponse.Result.ResultType.OK,
+                        ResultTypeIdentifier.TechnicalVerification, "HASH", "OK");
                 }
+            } catch (NoSuchAlgorithmException e) {
+                throw new DccException("hash calculation", e);
             }
         }
+        return StageResult.CONTINUE;
+    }
 
-        checkExpirationDates(greenCertificateData, accessTokenConditions, results, locale);
-        checkAcceptableCertType(greenCertificateData, accessTokenConditions, results, locale);
-        if (accessTokenType.intValue() > AccessTokenType.Structure.intValue()) {
-            validateGreenCertificateNameDob(greenCertificateData, accessTokenConditions, results, locale);
-            validateCryptographic(cose, coseData.getKid(), accessTokenConditions, verificationResult, results, locale);
-            if (accessTokenType == AccessTokenType.Full) {
-                validateRules(greenCertificateData, verificationResult, results, accessTokenConditions,
-                    coseData.getKid(), rulesCache, valueSetCache, locale);
-            }
+    /**
+     * structural decoding of the dcc up to the green certificate data.
+     * @param dcc dcc
+     * @return decoded dcc or the failed structural check
+     */
+    DecodedDcc decode(byte[] dcc) {
+        VerificationResult verificationResult = new VerificationResult();
+        final byte[] cose = dccDecoder.decode(dcc, verificationResult);
+        if (verificationResult.getContextPrefix() == null) {
+            return DecodedDcc.failed(DccValidationMessage.PREFIX);
         }
-
-        return results;
+        if (!verificationResult.getBase45Decoded()) {
+            return DecodedDcc.failed(DccValidationMessage.BASE45);
+        }
+        if (cose == null || !verificationResult.getZlibDecoded()) {
+            return DecodedDcc.failed(DccValidationMessage.COMPRESSION);
+        }
+        CoseData coseData = coseService.decode(cose, verificationResult);
+        if (coseData == null) {
+            return DecodedDcc.failed(DccValidationMessage.COSE);
+        }
+        if (coseData.getKid() == null) {
+            return DecodedDcc.failed(DccValidationMessage.KID);
+        }
+        DccPayload dccPayload = dccPayloadDecoder.decode(coseData.getCbor());
+        if (dccPayload == null || !dccSchemaValidator.validate(dccPayload.getHcert(), verificationResult)) {
+            return DecodedDcc.failed(DccValidationMessage.SCHEMA);
+        }
+        GreenCertificateData greenCertificateData =
+            dccPayloadDecoder.toGreenCertificateData(dccPayload, verificationResult);
+        if (!verificationResult.getCborDecoded()) {
+            return DecodedDcc.failed(DccValidationMessage.CBOR);
+        }
+        return DecodedDcc.decoded(cose, coseData.getKid(), dccPayload, greenCertificateData);
     }
 
     private void checkExpirationDates(GreenCertificateData greenCertificateData,
                                       AccessTokenConditions accessTokenConditions,
                                       List<ValidationStatusResponse.Result> results, Locale locale) {
-        ZonedDateTime validFrom = ZonedDateTime.parse(accessTokenConditions.getValidFrom());
-        ZonedDateTime validTo = ZonedDateTime.parse(accessTokenConditions.getValidTo());
+        ZonedDateTime validFrom = accessTokenConditions.getValidFromTime();
+        ZonedDateTime validTo = accessTokenConditions.getValidToTime();
         if (!greenCertificateData.getExpirationTime().isAfter(validTo)) {
             addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
                 ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.EXPIREDONDATE_AFTER, locale);
@@ -294,111 +361,21 @@ public class DccValidator {
                                      RulesCache rulesCache,
                                      ValueSetCache valueSetCache, Locale locale) {
         log.debug("Start BusinessRule Evaluation");
-        ZonedDateTime validationClock = ZonedDateTime.parse(accessTokenConditions.getValidationClock());
+        ZonedDateTime validationClock = accessTokenConditions.getValidationClockTime();
 
         String countryOfArrival = accessTokenConditions.getCoa();
         String regionOfArrival = accessTokenConditions.getRoa().isEmpty() ? null : accessTokenConditions.getRoa();
-        String certificateType = greenCertificateData.getGreenCertificate().getType().toString();
-        List<Rule> rules = rulesCache.provideRules(countryOfArrival, greenCertificateData.getIssuingCountry());
-        log.debug("Found Rules: " + rules.size());
-        rules = rules.stream()
-            .peek(t -> {
-                log.debug(String.format("Identifier: %s,Type: %s , Country: %s, CertType: %s",
-                    t.getIdentifier(), t.getType(), t.getCountryCode(), t.getRuleCertificateType()));
-                log.debug("General :"
-                    + String.valueOf(
-                        t.getRuleCertificateType().toString().toLowerCase().equals(certificateType.toLowerCase())
-                            || t.getRuleCertificateType().toString().equals("General")));
-                log.debug("Clock :" + String.valueOf((t.getValidFrom().isBefore(validationClock)
-                    || t.getValidFrom().isEqual(validationClock))));
-                log.debug("Type :" + String.valueOf(t.getType() == dgca.verifier.app.engine.data.Type.ACCEPTANCE));
-                log.debug("Country :" + String.valueOf(t.getCountryCode().equals(countryOfArrival)));
-                log.debug("Region :" + String.valueOf((t.getRegion() == null
-                    || t.getRegion().equals(regionOfArrival))));
-                log.debug("InvalidType :"
-                    + String.valueOf(t.getType() == dgca.verifier.app.engine.data.Type.INVALIDATION));
-                log.debug("IssuerCountry :"
-                    + String.valueOf(t.getCountryCode().equals(greenCertificateData.getIssuingCountry())));
-            })
-            .filter(t -> ((t.getRuleCertificateType().toString().toLowerCase().equals(certificateType.toLowerCase())
-                || t.getRuleCertificateType().toString().equals("General"))
-                    && (t.getValidFrom().isBefore(validationClock) || t.getValidFrom().isEqual(validationClock))
-                    && t.getType() == dgca.verifier.app.engine.data.Type.ACCEPTANCE)
-                    && t.getCountryCode().toLowerCase().equals(countryOfArrival.toLowerCase())
-                    && (t.getRegion() == null || t.getRegion().toLowerCase().equals(regionOfArrival.toLowerCase()))
-                    || (
-                        (t.getRuleCertificateType().toString().toLowerCase().equals(certificateType.toLowerCase())
-                            || t.getRuleCertificateType().toString().equals("General"))
-                            && (t.getValidFrom().isBefore(validationClock) || t.getValidFrom().isEqual(validationClock))
-                            && t.getType() == dgca.verifier.app.engine.data.Type.INVALIDATION
-                            && t.getCountryCode().toLowerCase()
-                                .equals(greenCertificateData.getIssuingCountry().toLowerCase())
-                    )
-            )
-            .map(t -> t)
-            .collect(Collectors.toList());
-        Hashtable<String,Triple<Integer,Integer,Integer>> identifierVersions = 
-                                                                new Hashtable<String,Triple<Integer,Integer,Integer>>();
-        Hashtable<String,Rule> ruleVersions = new Hashtable<String,Rule>();
-        ArrayList<Rule> rulesOut = new ArrayList<Rule>();
-        for (Rule rule : rules) {
-            if (!identifierVersions.containsKey(rule.getIdentifier())) {
-                identifierVersions.put(rule.getIdentifier(), toVersion(rule.getVersion()));
-                ruleVersions.put(rule.getIdentifier(), rule);
-            }
-            var currVersion = toVersion(rule.getVersion());
-            var prevVersion = identifierVersions.get(rule.getIdentifier());
-
-            if (currVersion != null && prevVersion != null) {
-                if (currVersion.component1() < prevVersion.component1()) {
-                    rulesOut.add(rule); 
-                    continue;   
-                }
-
-                if (currVersion.component1() > prevVersion.component1()) {
-                    rulesOut.add(ruleVersions.get(rule.getIdentifier()));
-                    ruleVersions.put(rule.getIdentifier(), rule);
-                    identifierVersions.put(rule.getIdentifier(), currVersion);
-                    continue;
-                }
-
-                if (currVersion.component1() == prevVersion.component1()) {
-                    if (currVersion.component2() < prevVersion.component2()) {
-                        rulesOut.add(rule);
-                        continue;   
-                    }
-
-                    if (currVersion.component2() > prevVersion.component2()) {
-                        rulesOut.add(ruleVersions.get(rule.getIdentifier()));
-                        ruleVersions.put(rule.getIdentifier(), rule);
-                        identifierVersions.put(rule.getIdentifier(), currVersion);
-                        continue;
-                    }
-
-                    if (currVersion.component2() == prevVersion.component2()) {
-                        if (currVersion.component3() < prevVersion.component3()) {
-                            rulesOut.add(rule);
-                            continue;   
-                        }
-
-                        if (currVersion.component3() > prevVersion.component3()) {
-                            rulesOut.add(ruleVersions.get(rule.getIdentifier()));
-                            ruleVersions.put(rule.getIdentifier(), rule);
-                            identifierVersions.put(rule.getIdentifier(), currVersion);
-                            continue;
-                        }
-                    }
-                }
-            }
-        }
-
-        rules.removeAll(rulesOut);
-            
-        log.debug("Matching Rules: " + rules.size());
-        if (rules != null && rules.size() > 0) {
+        ValueSetSnapshot valueSets = valueSetCache.provideSnapshot();
+        ApplicableRules applicableRules = rulesCache.provideApplicableRules(countryOfArrival, regionOfArrival,
+            greenCertificateData.getIssuingCountry(),
+            toRuleCertificateType(greenCertificateData.getGreenCertificate().getType()), validationClock, valueSets);
+        List<Rule> rules = applicableRules.getRules();
+
+        log.debug("Matching Rules: {}", rules.size());
+        if (rules.size() > 0) {
             String kidBase64 = Base64.getEncoder().encodeToString(kid);
-            Map<String, List<String>> valueSets = valueSetCache.provideValueSets();
-            ExternalParameter externalParameter = new ExternalParameter(validationClock, valueSets, countryOfArrival,
+            ExternalParameter externalParameter = new ExternalParameter(validationClock, valueSets.getValueSets(),
+                countryOfArrival,
                 greenCertificateData.getExpirationTime(),
                 greenCertificateData.getIssuedAt(),
                 greenCertificateData.getIssuingCountry(),
@@ -417,9 +394,14 @@ public class DccValidator {
                 default:
                     certEngineType = dgca.verifier.app.engine.data.CertificateType.TEST;
             }
-            List<ValidationResult> ruleValidationResults = certLogicEngine.validate(certEngineType,
-                greenCertificateData.getGreenCertificate().getSchemaVersion(),
-                rules, externalParameter, hcertJson);
+            CertLogicResultCache.Key resultKey = certLogicResultCache.key(applicableRules.getVersion(),
+                valueSets.getVersion(), hcertJson, kidBase64, greenCertificateData.getIssuingCountry(),
+                greenCertificateData.getExpirationTime(), greenCertificateData.getIssuedAt(), validationClock,
+                countryOfArrival, regionOfArrival);
+            List<ValidationResult> ruleValidationResults = certLogicResultCache.get(resultKey,
+                () -> certLogicEngine.validate(certEngineType,
+                    greenCertificateData.getGreenCertificate().getSchemaVersion(),
+                    rules, externalParameter, hcertJson));
 
             for (ValidationResult validationResult : ruleValidationResults) {
                 ValidationStatusResponse.Result.ResultType resultType;
@@ -465,28 +447,44 @@ public class DccValidator {
         }
     }
 
+    private static RuleCertificateType toRuleCertificateType(
+        dgca.verifier.app.decoder.model.CertificateType certificateType) {
+        if (certificateType == null) {
+            return null;
+        }
+        switch (certificateType) {
+            case VACCINATION:
+                return RuleCertificateType.VACCINATION;
+            case RECOVERY:
+                return RuleCertificateType.RECOVERY;
+            case TEST:
+                return RuleCertificateType.TEST;
+            default:
+                return null;
+        }
+    }
+
     private void validateCryptographic(byte[] cose, byte[] kid,
                                        AccessTokenConditions accessTokenConditions,
                                        VerificationResult verificationResult,
                                        List<ValidationStatusResponse.Result> results, Locale locale) {
-        ZonedDateTime validationClock = ZonedDateTime.parse(accessTokenConditions.getValidationClock());
+        ZonedDateTime validationClock = accessTokenConditions.getValidationClockTime();
         String kidBase64 = Base64.getEncoder().encodeToString(kid);
+        long trustListVersion = signerInformationService.getTrustListVersion();
         List<Certificate> certificates = signerInformationService.getCertificates(kidBase64);
         if (certificates != null && certificates.size() > 0) {
-            boolean signValidated = false;
-            for (Certificate certificate : certificates) {
-                cryptoService.validate(cose, certificate, verificationResult);
-                if (verificationResult.getCoseVerified()) {
-                    ZonedDateTime expirationTime = (certificate instanceof X509Certificate)
-                        ? ((X509Certificate) certificate).getNotAfter()
-                            .toInstant().atZone(DateTimeKt.getUTC_ZONE_ID())
-                        : null;
-                    if (expirationTime != null && validationClock.isAfter(expirationTime)) {
-                        addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
-                            ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.EXPIREDONCLOCK, locale);
-                    }
-                    signValidated = true;
-                    break;
+            Certificate signer = verifiedSignatureCache.get(cose, kidBase64, trustListVersion,
+                () -> verifySignature(cose, certificates, verificationResult));
+            boolean signValidated = signer != null;
+            if (signValidated) {
+                verificationResult.setCoseVerified(true);
+                ZonedDateTime expirationTime = (signer instanceof X509Certificate)
+                    ? ((X509Certificate) signer).getNotAfter()
+                        .toInstant().atZone(DateTimeKt.getUTC_ZONE_ID())
+                    : null;
+                if (expirationTime != null && validationClock.isAfter(expirationTime)) {
+                    addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
+                        ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.EXPIREDONCLOCK, locale);
                 }
             }
             if (!signValidated) {
@@ -502,6 +500,17 @@ public class DccValidator {
         }
     }
 
+    private Certificate verifySignature(byte[] cose, List<Certificate> certificates,
+                                        VerificationResult verificationResult) {
+        for (Certificate certificate : certificates) {
+            coseSignatureVerifier.validate(cose, certificate, verificationResult);
+            if (verificationResult.getCoseVerified()) {
+                return certificate;
+            }
+        }
+        return null;
+    }
+
     private void validateGreenCertificateNameDob(GreenCertificateData greenCertificateData,
                                                  AccessTokenConditions accessTokenConditions,
                                                  List<ValidationStatusResponse.Result> results, Locale locale) {
@@ -603,6 +612,6 @@ public class DccValidator {
                                   ValidationStatusResponse.Result.ResultType resultType,
                                   ResultTypeIdentifier type, DccValidationMessage dccValidationMessage, Locale locale) {
         addResult(results, resultType, type, dccValidationMessage.identifier(),
-                resourceBundleMessageSource.getMessage(dccValidationMessage.name(), null, locale));
+                validationMessageTable.message(dccValidationMessage, locale));
     }
 }
\ No newline at end of file
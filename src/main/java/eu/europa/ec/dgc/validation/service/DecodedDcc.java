@@ -0,0 +1,34 @@
+package eu.europa.ec.dgc.validation.service;
+
+import dgca.verifier.app.decoder.cbor.GreenCertificateData;
+import eu.europa.ec.dgc.validation.decoder.DccPayload;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Structural decoding result of a dcc.
+ * Either the failed structural check or the decoded certificate together with its cose message and kid.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class DecodedDcc {
+    private final DccValidationMessage failure;
+    private final byte[] cose;
+    private final byte[] kid;
+    private final DccPayload dccPayload;
+    private final GreenCertificateData greenCertificateData;
+
+    static DecodedDcc failed(DccValidationMessage failure) {
+        return new DecodedDcc(failure, null, null, null, null);
+    }
+
+    static DecodedDcc decoded(byte[] cose, byte[] kid, DccPayload dccPayload,
+                              GreenCertificateData greenCertificateData) {
+        return new DecodedDcc(null, cose, kid, dccPayload, greenCertificateData);
+    }
+
+    public boolean isDecoded() {
+        return failure == null;
+    }
+}
@@ -0,0 +1,58 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.utils.CacheStatistics;
+import eu.europa.ec.dgc.validation.utils.ExpiringCache;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Memo of structurally decoded dccs keyed by the SHA-256 fingerprint of the raw dcc.
+ * Repeated submissions of the same dcc skip prefix, base45, zlib, cose, schema and cbor decoding.
+ */
+@Component
+@Slf4j
+public class DecodedDccCache {
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final ExpiringCache<ByteBuffer, DecodedDcc> cache;
+
+    /**
+     * constructor.
+     * @param dgcConfigProperties dgcConfigProperties
+     */
+    public DecodedDccCache(DgcConfigProperties dgcConfigProperties) {
+        DgcConfigProperties.CacheConfig config = dgcConfigProperties.getDecodedDccCache();
+        cache = new ExpiringCache<>(config.getMaxSize(), Duration.ofSeconds(config.getExpire()));
+        log.info("decoded dcc cache maxSize={} expire={}s", config.getMaxSize(), config.getExpire());
+    }
+
+    /**
+     * get decoded dcc from cache or decode it.
+     * @param dcc raw dcc
+     * @param decoder decoder used on cache miss
+     * @return decoded dcc
+     */
+    public DecodedDcc get(byte[] dcc, Function<byte[], DecodedDcc> decoder) {
+        return cache.get(ByteBuffer.wrap(SHA256.get().digest(dcc)), key -> decoder.apply(dcc));
+    }
+
+    public CacheStatistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+}
@@ -0,0 +1,365 @@
+package eu.europa.ec.dgc.validation.service;
+
+import com.nimbusds.jose.util.X509CertUtils;
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.entity.SignerInformationEntity;
+import eu.europa.ec.dgc.validation.repository.SignerInformationRepository;
+import eu.europa.ec.dgc.validation.restapi.dto.KidDto;
+import eu.europa.ec.dgc.validation.utils.CacheStatistics;
+import eu.europa.ec.dgc.validation.utils.ExpiringCache;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In memory index of the stored signer certificates by kid.
+ * Certificates are parsed once per rebuild, 8 byte kids are held in an open addressing table of
+ * primitive long keys, other kids in a map. The index is immutable and swapped atomically after each
+ * trust list update, kids missing in the index are looked up in the database. Kids not found in the
+ * database either are remembered in a bounded negative cache until the next rebuild.
+ */
+@Slf4j
+@Component
+public class DscTrustStore {
+    private final SignerInformationRepository signerInformationRepository;
+    private final ExpiringCache<String, Boolean> unknownKids;
+    private final AtomicReference<KidIndex> index = new AtomicReference<>();
+    private final AtomicLong rebuilds = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder databaseLookups = new LongAdder();
+    private volatile long rebuildMillis;
+
+    /**
+     * constructor.
+     * @param signerInformationRepository signerInformationRepository
+     * @param dgcConfigProperties dgcConfigProperties
+     */
+    public DscTrustStore(SignerInformationRepository signerInformationRepository,
+                         DgcConfigProperties dgcConfigProperties) {
+        this.signerInformationRepository = signerInformationRepository;
+        DgcConfigProperties.CacheConfig config = dgcConfigProperties.getUnknownKidCache();
+        this.unknownKids = new ExpiringCache<>(config.getMaxSize(), Duration.ofSeconds(config.getExpire()));
+    }
+
+    /**
+     * get certificates of a kid.
+     * @param kid base64 encoded kid
+     * @return unmodifiable list of certificates, empty if the kid is unknown
+     */
+    public List<Certificate> getCertificates(String kid) {
+        KidIndex kidIndex = index.get();
+        if (kidIndex == null) {
+            kidIndex = rebuild(null);
+        }
+        List<Certificate> certificates = kidIndex.get(kid);
+        if (certificates != null) {
+            hits.increment();
+            return certificates;
+        }
+        misses.increment();
+        if (unknownKids.get(kid) != null) {
+            return Collections.emptyList();
+        }
+        List<Certificate> loaded = loadCertificates(kid);
+        if (loaded.isEmpty() && index.get() == kidIndex) {
+            unknownKids.put(kid, Boolean.TRUE);
+        }
+        return loaded;
+    }
+
+    /**
+     * rebuild index after trust list update.
+     * @param event event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTrustListUpdated(TrustListUpdatedEvent event) {
+        refresh();
+    }
+
+    /**
+     * rebuild index if the stored kids changed, the trust list may have been updated by another instance.
+     */
+    @Scheduled(fixedDelayString = "${dgc.certificatesDownloader.timeInterval}")
+    public void refresh() {
+        try {
+            KidIndex kidIndex = index.get();
+            if (kidIndex == null || !kidIndex.storedKids.equals(storedKids())) {
+                rebuild(kidIndex);
+            }
+        } catch (RuntimeException e) {
+            log.error("trust store refresh failed, keeping {} kids", size(), e);
+        }
+    }
+
+    /**
+     * rebuild index unless another thread replaced the expected index while this one waited for the lock.
+     */
+    private synchronized KidIndex rebuild(KidIndex expected) {
+        KidIndex current = index.get();
+        if (current != expected) {
+            return current;
+        }
+        final long start = System.nanoTime();
+        Set<String> storedKids = new HashSet<>();
+        Map<String, List<Certificate>> certificatesByKid = new LinkedHashMap<>();
+        for (SignerInformationEntity signerInformationEntity : signerInformationRepository.findAll()) {
+            storedKids.add(signerInformationEntity.getKid());
+            X509Certificate certificate = parse(signerInformationEntity);
+            if (certificate != null) {
+                certificatesByKid.computeIfAbsent(signerInformationEntity.getKid(), kid -> new ArrayList<>())
+                    .add(certificate);
+            }
+        }
+        KidIndex kidIndex = KidIndex.of(certificatesByKid, storedKids);
+        index.set(kidIndex);
+        unknownKids.clear();
+        rebuilds.incrementAndGet();
+        rebuildMillis = (System.nanoTime() - start) / 1_000_000;
+        log.info("trust store rebuilt with {} kids, {} certificates, ~{} bytes in {} ms", kidIndex.size(),
+            kidIndex.certificates, kidIndex.memoryFootprint, rebuildMillis);
+        return kidIndex;
+    }
+
+    private Set<String> storedKids() {
+        Set<String> kids = new HashSet<>();
+        for (KidDto kidDto : signerInformationRepository.findAllByOrderByIdAsc()) {
+            kids.add(kidDto.getKid());
+        }
+        return kids;
+    }
+
+    private List<Certificate> loadCertificates(String kid) {
+        databaseLookups.increment();
+        List<Certificate> certificates = new ArrayList<>();
+        for (SignerInformationEntity signerInformationEntity : signerInformationRepository.findAllByKid(kid)) {
+            X509Certificate certificate = parse(signerInformationEntity);
+            if (certificate != null) {
+                certificates.add(certificate);
+            }
+        }
+        log.debug("kid {} not in trust store, found {} certificates in database", kid, certificates.size());
+        return certificates;
+    }
+
+    private static X509Certificate parse(SignerInformationEntity signerInformationEntity) {
+        String rawData = signerInformationEntity.getRawData();
+        if (rawData.contains(X509CertUtils.PEM_BEGIN_MARKER)) {
+            return X509CertUtils.parse(rawData);
+        }
+        return X509CertUtils.parse(X509CertUtils.PEM_BEGIN_MARKER + rawData + X509CertUtils.PEM_END_MARKER);
+    }
+
+    /**
+     * number of kids with certificates in the index.
+     * @return size
+     */
+    public int size() {
+        KidIndex kidIndex = index.get();
+        return kidIndex == null ? 0 : kidIndex.size();
+    }
+
+    /**
+     * number of certificates in the index.
+     * @return certificates
+     */
+    public int getCertificateCount() {
+        KidIndex kidIndex = index.get();
+        return kidIndex == null ? 0 : kidIndex.certificates;
+    }
+
+    /**
+     * estimated memory footprint of the index (parsed certificates and key tables).
+     * @return bytes
+     */
+    public long getMemoryFootprint() {
+        KidIndex kidIndex = index.get();
+        return kidIndex == null ? 0 : kidIndex.memoryFootprint;
+    }
+
+    public long getRebuildMillis() {
+        return rebuildMillis;
+    }
+
+    public long getRebuilds() {
+        return rebuilds.get();
+    }
+
+    /**
+     * version of the trust list, changes with every rebuild of the index.
+     * @return version
+     */
+    public long getVersion() {
+        return rebuilds.get();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getDatabaseLookups() {
+        return databaseLookups.sum();
+    }
+
+    /**
+     * statistics of the unknown kid cache, hits are misses answered without database lookup.
+     * @return statistics
+     */
+    public CacheStatistics getUnknownKidStatistics() {
+        return unknownKids.getStatistics();
+    }
+
+    public int getUnknownKids() {
+        return unknownKids.size();
+    }
+
+    /**
+     * immutable kid index.
+     * The stored kids include kids whose certificates can not be parsed, so such rows do not make every
+     * refresh rebuild the index.
+     */
+    static final class KidIndex {
+        private static final int KID_LENGTH = 8;
+        /**
+         * a parsed certificate keeps its encoding and the decoded structures, about 4.9 KB of heap were
+         * measured for a 873 byte EC signer certificate.
+         */
+        private static final int PARSED_CERTIFICATE_FACTOR = 4;
+        private static final int PARSED_CERTIFICATE_OVERHEAD = 1536;
+        private static final String BASE64_ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+
+        private final Set<String> storedKids;
+        private final long[] keys;
+        private final int[] slots;
+        private final List<List<Certificate>> values;
+        private final Map<String, List<Certificate>> otherKids;
+        private final int certificates;
+        private final long memoryFootprint;
+
+        private KidIndex(Set<String> storedKids, long[] keys, int[] slots, List<List<Certificate>> values,
+                         Map<String, List<Certificate>> otherKids, int certificates, long memoryFootprint) {
+            this.storedKids = storedKids;
+            this.keys = keys;
+            this.slots = slots;
+            this.values = values;
+            this.otherKids = otherKids;
+            this.certificates = certificates;
+            this.memoryFootprint = memoryFootprint;
+        }
+
+        static KidIndex of(Map<String, List<Certificate>> certificatesByKid, Set<String> storedKids) {
+            int capacity = Integer.highestOneBit(Math.max(2, certificatesByKid.size() * 2 - 1)) << 1;
+            long[] keys = new long[capacity];
+            int[] slots = new int[capacity];
+            List<List<Certificate>> values = new ArrayList<>();
+            Map<String, List<Certificate>> otherKids = new HashMap<>();
+            int certificates = 0;
+            long memoryFootprint = capacity * (long) (Long.BYTES + Integer.BYTES);
+            for (Map.Entry<String, List<Certificate>> entry : certificatesByKid.entrySet()) {
+                List<Certificate> kidCertificates = Collections.unmodifiableList(entry.getValue());
+                certificates += kidCertificates.size();
+                memoryFootprint += parsedSize(kidCertificates);
+                byte[] kid = decode(entry.getKey());
+                if (kid != null) {
+                    long key = toLong(kid);
+                    int slot = slot(key, capacity);
+                    while (slots[slot] != 0) {
+                        slot = (slot + 1) & (capacity - 1);
+                    }
+                    keys[slot] = key;
+                    values.add(kidCertificates);
+                    slots[slot] = values.size();
+                } else {
+                    otherKids.put(entry.getKey(), kidCertificates);
+                    memoryFootprint += entry.getKey().length() * 2L;
+                }
+            }
+            return new KidIndex(Collections.unmodifiableSet(new HashSet<>(storedKids)), keys, slots, values,
+                otherKids, certificates, memoryFootprint);
+        }
+
+        int size() {
+            return values.size() + otherKids.size();
+        }
+
+        List<Certificate> get(String kid) {
+            byte[] decoded = decode(kid);
+            if (decoded == null) {
+                return otherKids.get(kid);
+            }
+            long key = toLong(decoded);
+            int slot = slot(key, keys.length);
+            while (slots[slot] != 0) {
+                if (keys[slot] == key) {
+                    return values.get(slots[slot] - 1);
+                }
+                slot = (slot + 1) & (keys.length - 1);
+            }
+            return null;
+        }
+
+        private static int slot(long key, int capacity) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & (capacity - 1);
+        }
+
+        private static long toLong(byte[] kid) {
+            long key = 0;
+            for (byte b : kid) {
+                key = (key << 8) | (b & 0xff);
+            }
+            return key;
+        }
+
+        /**
+         * decode kids in canonical base64 encoding of 8 bytes, the index must only match the exact kid string.
+         */
+        private static byte[] decode(String kid) {
+            if (kid == null || kid.length() != 12 || kid.charAt(11) != '='
+                || (BASE64_ALPHABET.indexOf(kid.charAt(10)) & 3) != 0) {
+                return null;
+            }
+            try {
+                byte[] decoded = Base64.getDecoder().decode(kid);
+                return decoded.length == KID_LENGTH ? decoded : null;
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        private static long parsedSize(List<Certificate> certificates) {
+            long size = 0;
+            for (Certificate certificate : certificates) {
+                try {
+                    size += certificate.getEncoded().length * (long) PARSED_CERTIFICATE_FACTOR
+                        + PARSED_CERTIFICATE_OVERHEAD;
+                } catch (CertificateEncodingException e) {
+                    log.debug("can not encode certificate: {}", e.getMessage());
+                }
+            }
+            return size;
+        }
+    }
+}
@@ -9,9 +9,9 @@ import eu.europa.ec.dgc.validation.restapi.dto.VerificationMethod;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateEncodingException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -67,6 +67,16 @@ public class IdentityService {
             }
             if (type == null || SCHEME_TYPE.equals(type)) {
                 for (String schema : dccCryptService.getCryptSchemes()) {
+                    final boolean ec = schema.startsWith("EC");
+                    String[] ids = Arrays.stream(keyProvider.getKeyNames(KeyType.ValidationServiceEncKey))
+                            .filter(keyName -> keyProvider.getAlg(keyName) != null
+                                    && keyProvider.getAlg(keyName).startsWith("ES") == ec)
+                            .map(keyName -> identityId + "/verificationMethod/" + VALIDATION_TYPE + "#" + keyName)
+                            .toArray(String[]::new);
+                    if (ids.length == 0) {
+                        // no encryption key for the scheme, a wallet could not use it
+                        continue;
+                    }
 
                     VerificationMethod verificationMethod = new VerificationMethod();
                     verificationMethod
@@ -74,25 +84,7 @@ public class IdentityService {
                                     + schema);
                     verificationMethod.setController(identityId);
                     verificationMethod.setType(SCHEME_TYPE);
-                    final boolean rsa = !schema.startsWith("EC");
-                    ArrayList<String> ids = new ArrayList<String>();
-                    for (VerificationMethod vm : verificationMethods
-                            .stream()
-                            .filter(x ->
-                                    x.getPublicKeyJwk() != null
-                                            &&
-                                            x.getPublicKeyJwk().getUse() == "enc"
-                                            &&
-                                            (
-                                                    (!rsa && x.getPublicKeyJwk().getAlg().startsWith("ES"))
-                                                            ||
-                                                            (rsa && !x.getPublicKeyJwk().getAlg().startsWith("ES"))
-                                            )
-                            )
-                            .collect(Collectors.toList())) {
-                        ids.add(vm.getId());
-                    }
-                    verificationMethod.setVerificationMethods(ids.toArray(new String[0]));
+                    verificationMethod.setVerificationMethods(ids);
                     verificationMethods.add(verificationMethod);
                 }
             }
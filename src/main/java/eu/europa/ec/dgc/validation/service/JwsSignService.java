@@ -0,0 +1,36 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.token.Es256JwsSigner;
+import java.security.PrivateKey;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Holds the ES256 signer of the active sign key, the signer is replaced when the active key changes.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class JwsSignService {
+    private final KeyProvider keyProvider;
+    private volatile Es256JwsSigner activeSigner;
+
+    /**
+     * signer of the active sign key.
+     * @return signer
+     */
+    public Es256JwsSigner getActiveSigner() {
+        String keyName = keyProvider.getActiveSignKey();
+        PrivateKey privateKey = keyProvider.receivePrivateKey(keyName);
+        String kid = keyProvider.getKid(keyName);
+        Es256JwsSigner signer = activeSigner;
+        if (signer == null || signer.getPrivateKey() != privateKey || !Objects.equals(signer.getKid(), kid)) {
+            signer = new Es256JwsSigner(privateKey, kid);
+            activeSigner = signer;
+            log.info("ES256 signer created for sign key {} kid {}", keyName, kid);
+        }
+        return signer;
+    }
+}
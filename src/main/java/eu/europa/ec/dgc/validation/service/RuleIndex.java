@@ -0,0 +1,305 @@
+package eu.europa.ec.dgc.validation.service;
+
+import dgca.verifier.app.engine.data.Rule;
+import dgca.verifier.app.engine.data.RuleCertificateType;
+import dgca.verifier.app.engine.data.Type;
+import eu.europa.ec.dgc.validation.certlogic.CompiledLogic;
+import eu.europa.ec.dgc.validation.utils.IsoCountryRegistry;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rules indexed by (country, rule type, certificate type, region), two letter countries are looked up
+ * by their packed country index.
+ * Each bucket keeps its rules ordered by validFrom, so the rules valid at a validation clock are found by a
+ * binary search.
+ * Rules with compiled logic are specialised for the value sets they are evaluated with. Each rule keeps the
+ * specialisation for the latest value-set version it has seen, validations still running on an older version
+ * get the unspecialised rule instead of replacing the specialisation.
+ */
+public final class RuleIndex {
+    private static final String NO_REGION = "";
+    private static final Comparator<IndexedRule> RULE_ORDER = Comparator
+        .comparing((IndexedRule indexedRule) -> indexedRule.rule.getIdentifier())
+        .thenComparingInt(indexedRule -> indexedRule.order);
+
+    private final List<Map<Type, Map<RuleCertificateType, Map<String, Bucket>>>> isoCountryBuckets;
+    private final Map<String, Map<Type, Map<RuleCertificateType, Map<String, Bucket>>>> otherCountryBuckets;
+    private final int size;
+    private final AtomicLong specializations = new AtomicLong();
+
+    private RuleIndex(Map<String, Map<Type, Map<RuleCertificateType, Map<String, Bucket>>>> buckets, int size) {
+        this.isoCountryBuckets = new ArrayList<>(Collections.nCopies(IsoCountryRegistry.INDEX_SIZE, null));
+        this.otherCountryBuckets = new HashMap<>();
+        buckets.forEach((country, byType) -> {
+            int index = IsoCountryRegistry.indexIgnoreCase(country);
+            if (index >= 0) {
+                isoCountryBuckets.set(index, byType);
+            } else {
+                otherCountryBuckets.put(country, byType);
+            }
+        });
+        this.size = size;
+    }
+
+    /**
+     * build index.
+     * @param rules rules, the list order is kept for rules with the same identifier
+     * @return index
+     */
+    public static RuleIndex of(List<Rule> rules) {
+        Map<String, Map<Type, Map<RuleCertificateType, Map<String, List<IndexedRule>>>>> grouped = new HashMap<>();
+        int order = 0;
+        for (Rule rule : rules) {
+            grouped.computeIfAbsent(upper(rule.getCountryCode()), country -> new EnumMap<>(Type.class))
+                .computeIfAbsent(rule.getType(), type -> new EnumMap<>(RuleCertificateType.class))
+                .computeIfAbsent(rule.getRuleCertificateType(), type -> new HashMap<>())
+                .computeIfAbsent(region(rule.getRegion()), region -> new ArrayList<>())
+                .add(new IndexedRule(rule, order++));
+        }
+        Map<String, Map<Type, Map<RuleCertificateType, Map<String, Bucket>>>> buckets = new HashMap<>();
+        grouped.forEach((country, byType) -> byType.forEach((type, byCertType) ->
+            byCertType.forEach((certType, byRegion) -> byRegion.forEach((region, bucketRules) ->
+                buckets.computeIfAbsent(country, c -> new EnumMap<>(Type.class))
+                    .computeIfAbsent(type, t -> new EnumMap<>(RuleCertificateType.class))
+                    .computeIfAbsent(certType, t -> new HashMap<>())
+                    .put(region, new Bucket(bucketRules))))));
+        return new RuleIndex(buckets, rules.size());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * number of rules specialised for value sets.
+     * @return specialisations
+     */
+    public long getSpecializations() {
+        return specializations.get();
+    }
+
+    /**
+     * rules applicable for a validation.
+     * Acceptance rules of the arrival country (region-less ones and those of the arrival region) and
+     * invalidation rules of the issuer country, both for the certificate type and GENERAL, valid from
+     * the validation clock on and reduced to the latest version per identifier.
+     * @param countryOfArrival countryOfArrival
+     * @param regionOfArrival regionOfArrival, null or empty for none
+     * @param issuerCountry issuerCountry
+     * @param certificateType certificateType, null if only general rules apply
+     * @param validationClock validationClock
+     * @param valueSets value sets the rules are evaluated with, null if the rules are not specialised
+     * @return rules ordered by identifier
+     */
+    public List<Rule> applicableRules(String countryOfArrival, String regionOfArrival, String issuerCountry,
+                                      RuleCertificateType certificateType, ZonedDateTime validationClock,
+                                      ValueSetSnapshot valueSets) {
+        List<IndexedRule> selected = new ArrayList<>();
+        Map<RuleCertificateType, Map<String, Bucket>> acceptance = certificateTypes(countryOfArrival,
+            Type.ACCEPTANCE);
+        Map<RuleCertificateType, Map<String, Bucket>> invalidation = certificateTypes(issuerCountry,
+            Type.INVALIDATION);
+        String region = regionOfArrival == null || regionOfArrival.isEmpty() ? null : upper(regionOfArrival);
+        for (RuleCertificateType ruleCertificateType : applicableCertificateTypes(certificateType)) {
+            Map<String, Bucket> acceptanceRegions = acceptance.get(ruleCertificateType);
+            if (acceptanceRegions != null) {
+                select(acceptanceRegions.get(NO_REGION), validationClock, selected);
+                if (region != null) {
+                    select(acceptanceRegions.get(region), validationClock, selected);
+                }
+            }
+            Map<String, Bucket> invalidationRegions = invalidation.get(ruleCertificateType);
+            if (invalidationRegions != null) {
+                for (Bucket bucket : invalidationRegions.values()) {
+                    select(bucket, validationClock, selected);
+                }
+            }
+        }
+        selected.sort(RULE_ORDER);
+        List<Rule> rules = new ArrayList<>(selected.size());
+        int start = 0;
+        while (start < selected.size()) {
+            int end = start + 1;
+            String identifier = selected.get(start).rule.getIdentifier();
+            while (end < selected.size() && selected.get(end).rule.getIdentifier().equals(identifier)) {
+                end++;
+            }
+            if (end - start == 1) {
+                rules.add(rule(selected.get(start), valueSets));
+            } else {
+                for (IndexedRule indexedRule : latestVersions(selected.subList(start, end))) {
+                    rules.add(rule(indexedRule, valueSets));
+                }
+            }
+            start = end;
+        }
+        return rules;
+    }
+
+    /**
+     * rule specialised for the value sets, compiled at most once per rule and value-set version unless two
+     * validations race for a new version.
+     */
+    private Rule rule(IndexedRule indexedRule, ValueSetSnapshot valueSets) {
+        if (valueSets == null || !(indexedRule.rule.getLogic() instanceof CompiledLogic)) {
+            return indexedRule.rule;
+        }
+        Specialization current = indexedRule.specialization;
+        if (current != null && current.valueSetVersion == valueSets.getVersion()) {
+            return current.rule;
+        }
+        if (current != null && current.valueSetVersion > valueSets.getVersion()) {
+            return indexedRule.rule;
+        }
+        current = new Specialization(valueSets.getVersion(),
+            CompiledLogic.compile(indexedRule.rule, valueSets.getValueSetsNode()));
+        indexedRule.specialization = current;
+        specializations.incrementAndGet();
+        return current.rule;
+    }
+
+    private Map<RuleCertificateType, Map<String, Bucket>> certificateTypes(String country, Type type) {
+        if (country == null) {
+            return Collections.emptyMap();
+        }
+        int index = IsoCountryRegistry.indexIgnoreCase(country);
+        Map<Type, Map<RuleCertificateType, Map<String, Bucket>>> byType = index >= 0
+            ? isoCountryBuckets.get(index) : otherCountryBuckets.get(upper(country));
+        if (byType == null) {
+            return Collections.emptyMap();
+        }
+        return byType.getOrDefault(type, Collections.emptyMap());
+    }
+
+    private static List<RuleCertificateType> applicableCertificateTypes(RuleCertificateType certificateType) {
+        if (certificateType == null || certificateType == RuleCertificateType.GENERAL) {
+            return List.of(RuleCertificateType.GENERAL);
+        }
+        return List.of(certificateType, RuleCertificateType.GENERAL);
+    }
+
+    private static void select(Bucket bucket, ZonedDateTime validationClock, List<IndexedRule> selected) {
+        if (bucket != null) {
+            selected.addAll(bucket.at(validationClock));
+        }
+    }
+
+    /**
+     * latest version of rules sharing one identifier, rules with unparsable versions are always kept.
+     */
+    private static List<IndexedRule> latestVersions(List<IndexedRule> rules) {
+        int[] latest = null;
+        for (IndexedRule indexedRule : rules) {
+            if (indexedRule.version != null && (latest == null || compare(indexedRule.version, latest) > 0)) {
+                latest = indexedRule.version;
+            }
+        }
+        List<IndexedRule> result = new ArrayList<>();
+        for (IndexedRule indexedRule : rules) {
+            if (indexedRule.version == null || Arrays.equals(indexedRule.version, latest)) {
+                result.add(indexedRule);
+            }
+        }
+        return result;
+    }
+
+    private static int compare(int[] version, int[] other) {
+        for (int i = 0; i < version.length; i++) {
+            int diff = Integer.compare(version[i], other[i]);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * parse version major.minor.patch.
+     * @param version version
+     * @return version parts or null if the version can not be parsed
+     */
+    static int[] parseVersion(String version) {
+        try {
+            String[] pieces = version.split("\\.");
+            return new int[] {Integer.parseInt(pieces[0]), Integer.parseInt(pieces[1]), Integer.parseInt(pieces[2])};
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static String upper(String value) {
+        return value == null ? null : value.toUpperCase(Locale.ROOT);
+    }
+
+    private static String region(String region) {
+        return region == null || region.isEmpty() ? NO_REGION : upper(region);
+    }
+
+    private static final class IndexedRule {
+        private final Rule rule;
+        private final int order;
+        private final int[] version;
+        private volatile Specialization specialization;
+
+        private IndexedRule(Rule rule, int order) {
+            this.rule = rule;
+            this.order = order;
+            this.version = parseVersion(rule.getVersion());
+        }
+    }
+
+    private static final class Specialization {
+        private final long valueSetVersion;
+        private final Rule rule;
+
+        private Specialization(long valueSetVersion, Rule rule) {
+            this.valueSetVersion = valueSetVersion;
+            this.rule = rule;
+        }
+    }
+
+    /**
+     * rules of one index key ordered by validFrom.
+     */
+    private static final class Bucket {
+        private final ZonedDateTime[] validFrom;
+        private final List<IndexedRule> rules;
+
+        private Bucket(List<IndexedRule> bucketRules) {
+            List<IndexedRule> sorted = new ArrayList<>(bucketRules);
+            sorted.sort(Comparator.comparing(indexedRule -> indexedRule.rule.getValidFrom().toInstant()));
+            this.validFrom = new ZonedDateTime[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                validFrom[i] = sorted.get(i).rule.getValidFrom();
+            }
+            this.rules = Collections.unmodifiableList(sorted);
+        }
+
+        /**
+         * rules with validFrom not after the validation clock.
+         */
+        private List<IndexedRule> at(ZonedDateTime validationClock) {
+            int low = 0;
+            int high = validFrom.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (validFrom[mid].isAfter(validationClock)) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return rules.subList(0, low);
+        }
+    }
+}
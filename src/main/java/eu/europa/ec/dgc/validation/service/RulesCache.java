@@ -1,8 +1,27 @@
 package eu.europa.ec.dgc.validation.service;
 
-import dgca.verifier.app.engine.data.Rule;
-import java.util.List;
+import dgca.verifier.app.engine.data.RuleCertificateType;
+import java.time.ZonedDateTime;
 
 public interface RulesCache {
-    public List<Rule> provideRules(String countryOfArrival, String issuerCountry);
+    /**
+     * version of the provided rules, changes whenever different rules are loaded.
+     * @return version
+     */
+    public long getVersion();
+
+    /**
+     * rules applicable for a validation, latest version per identifier, with the version of the rules they
+     * were taken from.
+     * @param countryOfArrival countryOfArrival
+     * @param regionOfArrival regionOfArrival
+     * @param issuerCountry issuerCountry
+     * @param certificateType certificateType
+     * @param validationClock validationClock
+     * @param valueSets value sets the rules are evaluated with
+     * @return rules ordered by identifier
+     */
+    public ApplicableRules provideApplicableRules(String countryOfArrival, String regionOfArrival,
+                                             String issuerCountry, RuleCertificateType certificateType,
+                                             ZonedDateTime validationClock, ValueSetSnapshot valueSets);
 }
@@ -31,8 +31,8 @@ import com.sap.cloud.sdk.cloudplatform.connectivity.HttpClientAccessor;
 import com.sap.cloud.sdk.cloudplatform.connectivity.HttpDestination;
 import eu.europa.ec.dgc.gateway.connector.dto.TrustListItemDto;
 import eu.europa.ec.dgc.gateway.connector.model.TrustListItem;
+import eu.europa.ec.dgc.validation.utils.CryptoPrimitives;
 import java.io.IOException;
-import java.security.Security;
 import java.security.cert.CertificateException;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -51,7 +51,6 @@ import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.util.EntityUtils;
 import org.bouncycastle.cert.CertException;
 import org.bouncycastle.cert.X509CertificateHolder;
-import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.bouncycastle.operator.ContentVerifierProvider;
 import org.bouncycastle.operator.OperatorCreationException;
 import org.bouncycastle.operator.RuntimeOperatorException;
@@ -80,7 +79,7 @@ public class SignerCertificateDownloadServiceBtpImpl implements SignerCertificat
 
     @PostConstruct
     private void init() {
-        Security.addProvider(new BouncyCastleProvider());
+        CryptoPrimitives.registerBouncyCastle();
     }
 
     @Override
@@ -26,8 +26,8 @@ import eu.europa.ec.dgc.gateway.connector.model.TrustListItem;
 import eu.europa.ec.dgc.validation.entity.SignerInformationEntity;
 import eu.europa.ec.dgc.validation.repository.SignerInformationRepository;
 import eu.europa.ec.dgc.validation.restapi.dto.KidDto;
+import eu.europa.ec.dgc.validation.utils.CryptoPrimitives;
 import java.security.cert.Certificate;
-import java.security.cert.X509Certificate;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -36,7 +36,7 @@ import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -47,9 +47,13 @@ public class SignerInformationService {
 
     private final SignerInformationRepository signerInformationRepository;
 
+    private final DscTrustStore dscTrustStore;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
     @PostConstruct
     private void init() {
-        X509CertUtils.setProvider(new BouncyCastleProvider());
+        X509CertUtils.setProvider(CryptoPrimitives.registerBouncyCastle());
     }
 
     /**
@@ -72,26 +76,16 @@ public class SignerInformationService {
      * @return List of certificates
      */
     public List<Certificate> getCertificates(String kid) {
-        List<Certificate> certificates = new ArrayList<>();
-        log.debug("Search result by kid:" + kid);
-        log.debug("Repo contains:" + signerInformationRepository.count());
-        for (SignerInformationEntity signerInformationEntity : signerInformationRepository.findAllByKid(kid)) {
-            log.debug("Found certificates:" + signerInformationEntity.getKid());
-
-            X509Certificate certificate = X509CertUtils.parse(X509CertUtils.PEM_BEGIN_MARKER
-                + signerInformationEntity.getRawData()
-                + X509CertUtils.PEM_END_MARKER);
-
-            if (signerInformationEntity.getRawData().contains(X509CertUtils.PEM_BEGIN_MARKER)) {
-                certificate = X509CertUtils.parse(signerInformationEntity.getRawData());
-            }
+        return dscTrustStore.getCertificates(kid);
+    }
 
-            if (certificate != null) {
-                certificates.add(certificate);
-            }
-        }
-        log.debug("Found certificates:" + certificates.size());
-        return certificates;
+    /**
+     * version of the trust list, changes whenever the trusted certificates change.
+     *
+     * @return version
+     */
+    public long getTrustListVersion() {
+        return dscTrustStore.getVersion();
     }
 
 
@@ -138,6 +132,7 @@ public class SignerInformationService {
                 log.debug("Kid saved: " + cert.getKid());
             }
         }
+        applicationEventPublisher.publishEvent(new TrustListUpdatedEvent());
     }
 
     /**
@@ -0,0 +1,121 @@
+package eu.europa.ec.dgc.validation.service;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+/**
+ * Validation messages resolved once per locale at startup.
+ * Covers all ISO languages and every language_COUNTRY locale a message bundle exists for.
+ * Unknown languages fall back to english.
+ */
+@Slf4j
+@Component
+public class ValidationMessageTable {
+    private static final Locale DEFAULT_LOCALE = Locale.ENGLISH;
+
+    private final Map<String, Locale> locales = new HashMap<>();
+    private final Map<Locale, Map<DccValidationMessage, String>> messages = new HashMap<>();
+
+    /**
+     * constructor.
+     * @param resourceBundleMessageSource message source the table is resolved from
+     */
+    public ValidationMessageTable(ResourceBundleMessageSource resourceBundleMessageSource) {
+        for (String language : Locale.getISOLanguages()) {
+            locales.put(language, new Locale(language));
+        }
+        for (String basename : resourceBundleMessageSource.getBasenameSet()) {
+            registerBundleLocales(basename);
+        }
+        locales.put(DEFAULT_LOCALE.getLanguage(), DEFAULT_LOCALE);
+        for (Locale locale : locales.values()) {
+            Map<DccValidationMessage, String> table = new EnumMap<>(DccValidationMessage.class);
+            for (DccValidationMessage message : DccValidationMessage.values()) {
+                table.put(message, resourceBundleMessageSource.getMessage(message.name(), null, locale));
+            }
+            messages.put(locale, Collections.unmodifiableMap(table));
+        }
+        log.info("validation messages resolved for {} locales", messages.size());
+    }
+
+    /**
+     * locale of a language tag like de, de-AT or de_AT.
+     * @param lang language tag, may be null
+     * @return supported locale or english
+     */
+    public Locale locale(String lang) {
+        if (lang == null || lang.isEmpty()) {
+            return DEFAULT_LOCALE;
+        }
+        int separator = indexOfSeparator(lang);
+        String language = (separator < 0 ? lang : lang.substring(0, separator)).toLowerCase(Locale.ROOT);
+        if (separator > 0) {
+            int end = indexOfSeparator(lang, separator + 1);
+            String country = lang.substring(separator + 1, end < 0 ? lang.length() : end).toUpperCase(Locale.ROOT);
+            Locale locale = locales.get(language + '_' + country);
+            if (locale != null) {
+                return locale;
+            }
+        }
+        return locales.getOrDefault(language, DEFAULT_LOCALE);
+    }
+
+    /**
+     * resolved message.
+     * @param message message
+     * @param locale locale
+     * @return message text
+     */
+    public String message(DccValidationMessage message, Locale locale) {
+        Map<DccValidationMessage, String> table = messages.get(locale);
+        if (table == null) {
+            table = messages.get(locales.getOrDefault(locale.getLanguage(), DEFAULT_LOCALE));
+        }
+        return table.get(message);
+    }
+
+    private void registerBundleLocales(String basename) {
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver()
+                .getResources("classpath*:" + basename + "_*.properties");
+            String prefix = basename.substring(basename.lastIndexOf('/') + 1) + '_';
+            for (Resource resource : resources) {
+                String filename = resource.getFilename();
+                if (filename == null || !filename.startsWith(prefix)) {
+                    continue;
+                }
+                String tag = filename.substring(prefix.length(), filename.length() - ".properties".length());
+                String[] parts = tag.split("_");
+                if (parts.length == 2) {
+                    locales.put(parts[0].toLowerCase(Locale.ROOT) + '_' + parts[1].toUpperCase(Locale.ROOT),
+                        new Locale(parts[0], parts[1]));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("can not list message bundles of {}", basename, e);
+        }
+    }
+
+    private static int indexOfSeparator(String lang) {
+        return indexOfSeparator(lang, 0);
+    }
+
+    private static int indexOfSeparator(String lang, int from) {
+        for (int i = from; i < lang.length(); i++) {
+            char c = lang.charAt(i);
+            if (c == '-' || c == '_') {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -14,11 +14,8 @@ import eu.europa.ec.dgc.validation.restapi.dto.PublicKeyJwk;
 import eu.europa.ec.dgc.validation.restapi.dto.ValidationInitRequest;
 import eu.europa.ec.dgc.validation.restapi.dto.ValidationInitResponse;
 import eu.europa.ec.dgc.validation.restapi.dto.ValidationStatusResponse;
-import eu.europa.ec.dgc.validation.token.AccessTokenParser;
 import eu.europa.ec.dgc.validation.token.ResultTokenBuilder;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwt;
-import java.nio.charset.StandardCharsets;
+import eu.europa.ec.dgc.validation.utils.CryptoPrimitives;
 import java.security.KeyFactory;
 import java.security.PublicKey;
 import java.security.spec.X509EncodedKeySpec;
@@ -40,13 +37,13 @@ public class ValidationService {
     private final DgcConfigProperties dgcConfigProperties;
     private final KeyProvider keyProvider;
     private final DccValidator dccValidator;
-    private final AccessTokenParser accessTokenParser;
+    private final AccessTokenVerifier accessTokenVerifier;
     private final DccCryptService dccCryptService;
     private final DccSign dccSign;
-    private final AccessTokenKeyProvider accessTokenKeyProvider;
     private final TokenBlackListService tokenBlackListService;
     private final ResultCallbackService resultCallbackService;
     private final IdentityService identityService;
+    private final JwsSignService jwsSignService;
 
     /**
      * validate Access Token.
@@ -58,76 +55,32 @@ public class ValidationService {
     public AccessTokenPayload validateAccessToken(String audience, String subject, String accessTokenCompact) {
         if (accessTokenCompact != null && accessTokenCompact.startsWith(TOKEN_PREFIX)) {
             String plainToken = accessTokenCompact.substring(TOKEN_PREFIX.length());
-            
-            Jwt token = accessTokenParser.extractPayload(plainToken);
-
-            String kid = (String) token.getHeader().get("kid");
-
-            if (kid == null) {
-                log.warn("revoke access token: kid was not found");
-                return null;
-            }
-
-            String alg = (String) token.getHeader().get("alg");
-            if (alg == null) {
-                log.warn("revoke access token: missing algorithm");
+            AccessTokenPayload accessToken = accessTokenVerifier.verify(plainToken);
+            if (accessToken == null) {
                 return null;
-            } else {
-                switch (alg) {
-                    case "RS256":
-                    case "ES256":
-                    case "PS256":
-                        break;
-                    default: {
-                        log.warn("revoke access token: unsupported algorithm");
-                        return null;
-                    }
-                }
             }
-            
-            Claims claims = (Claims) token.getBody();
 
-            if (claims.containsKey("exp")
-                && claims.getExpiration().toInstant().getEpochSecond() < Instant.now().getEpochSecond()) {
+            long now = Instant.now().getEpochSecond();
+            if (accessToken.getExp() != 0 && accessToken.getExp() < now) {
                 log.warn("revoke access token: expired");
                 return null;
             }
 
-            if (claims.containsKey("iat")
-                && claims.getIssuedAt().toInstant().getEpochSecond() > Instant.now().getEpochSecond()) {
+            if (accessToken.getIat() != 0 && accessToken.getIat() > now) {
                 log.warn("revoke access token: iat in the future");
                 return null;
             }
 
-            if (claims.containsKey("aud")
-                && (claims.getAudience() == null || !claims.getAudience().equals(audience))) {
+            if (accessToken.getAud() != null && !accessToken.getAud().equals(audience)) {
                 log.warn("revoke access token: aud");
                 return null;
             }
 
-            if (claims.containsKey("sub") && !subject.equals(claims.getSubject())) {
+            if (accessToken.getSub() != null && !accessToken.getSub().equals(subject)) {
                 log.warn("revoke access token: sub mismatch");
                 return null;
             }
-
-            if (claims.containsKey("aud") && !claims.getAudience().equals(audience)) {
-                log.debug("wrong audience");
-                return null;
-            }
-
-            if (claims.containsKey("sub") && !claims.getSubject().equals(subject)) {
-                log.debug("subject wrong");
-                return null;
-            }
-
-            try {
-                AccessTokenPayload accessToken = accessTokenParser.parseToken(
-                    plainToken, accessTokenKeyProvider.getPublicKey(kid));
-                return accessToken;
-            } catch (Exception e) {
-                log.warn("revoke access token: parsing",e);
-                return null;
-            }
+            return accessToken;
         }
         return null;
     }
@@ -241,8 +194,7 @@ public class ValidationService {
         String subject = accessToken.getSub();
         ValidationInquiry validationInquiry = validationStoreService.receiveValidation(subject);
         String resultToken = null;
-        String privacyResultToken = null;
-        ResultTokenBuilder resultTokenBuilder = new ResultTokenBuilder();
+        String statusResultToken = null;
         if (validationInquiry != null) {
             if (!tokenBlackListService.checkPutBlacklist(accessToken.getJti(), accessToken.getExp())) {
                 throw new DccException("token identifier jti already used", HttpStatus.GONE.value());
@@ -259,37 +211,32 @@ public class ValidationService {
                 validationInquiry.getPublicKey())) {
                 throw new DccException("invalid signature", HttpStatus.UNPROCESSABLE_ENTITY.value());
             }
-            String dcc = decodeDcc(dccValidationRequest, validationInquiry);
+            byte[] dcc = decodeDcc(dccValidationRequest, validationInquiry);
 
 
             List<ValidationStatusResponse.Result> results = dccValidator.validate(
                 dcc, accessToken.getConditions(), AccessTokenType.getTokenForInt(accessToken.getType()), false);
-           
-            resultToken = resultTokenBuilder.build(results, accessToken.getSub(),
-                dgcConfigProperties.getServiceUrl(),
-                accessToken.getConditions().getCategory(),
-                Date.from(Instant.now().plusSeconds(dgcConfigProperties.getConfirmationExpire())),
-                keyProvider.receivePrivateKey(keyProvider.getActiveSignKey()),
-                keyProvider.getKid(keyProvider.getActiveSignKey()),false);
 
-            privacyResultToken = resultTokenBuilder.build(results, accessToken.getSub(),
+            // the response always carries the full result token, status and callback get the privacy token
+            // instead if status results are disabled
+            boolean disableStatusResult = dgcConfigProperties.isDisableStatusResult();
+            ResultTokenBuilder.ResultTokens resultTokens = new ResultTokenBuilder().buildTokens(results,
+                accessToken.getSub(),
                 dgcConfigProperties.getServiceUrl(),
                 accessToken.getConditions().getCategory(),
                 Date.from(Instant.now().plusSeconds(dgcConfigProperties.getConfirmationExpire())),
-                keyProvider.receivePrivateKey(keyProvider.getActiveSignKey()),
-                keyProvider.getKid(keyProvider.getActiveSignKey()),true);
+                jwsSignService.getActiveSigner(), true, disableStatusResult);
+            resultToken = resultTokens.getResultToken();
+            statusResultToken = disableStatusResult ? resultTokens.getPrivacyResultToken() : resultToken;
 
-            validationInquiry.setValidationResult(dgcConfigProperties.isDisableStatusResult() ? privacyResultToken 
-                                                                                              : resultToken);
+            validationInquiry.setValidationResult(statusResultToken);
             validationInquiry.setValidationStatus(ValidationInquiry.ValidationStatus.READY);
             validationStoreService.updateValidation(validationInquiry);
         } 
 
         if (validationInquiry.getCallbackUrl() != null && validationInquiry.getCallbackUrl().length() > 0
-                && resultToken != null && privacyResultToken != null) {
-            resultCallbackService.scheduleCallback(validationInquiry.getCallbackUrl(), 
-                                                   dgcConfigProperties.isDisableStatusResult() ? privacyResultToken 
-                                                                                               : resultToken);
+                && statusResultToken != null) {
+            resultCallbackService.scheduleCallback(validationInquiry.getCallbackUrl(), statusResultToken);
         }
         return resultToken;
     }
@@ -304,7 +251,7 @@ public class ValidationService {
 
             byte[] keyBytes = Base64.getDecoder().decode(cleanKeyString(publicKeyBase64));
             X509EncodedKeySpec spec = new X509EncodedKeySpec(keyBytes);
-            KeyFactory kf = KeyFactory.getInstance(sigAlg);
+            KeyFactory kf = CryptoPrimitives.DEFAULT.keyFactory(sigAlg);
             PublicKey publicKey = kf.generatePublic(spec);
             return dccSign.verifySignature(data, signature, publicKey);
         } catch (Exception e) {
@@ -313,14 +260,13 @@ public class ValidationService {
         }
     }
 
-    private String decodeDcc(DccValidationRequest dccValidationRequest, ValidationInquiry validationInquiry) {
+    private byte[] decodeDcc(DccValidationRequest dccValidationRequest, ValidationInquiry validationInquiry) {
         EncryptedData encryptedData = new EncryptedData();
         encryptedData.setDataEncrypted(Base64.getDecoder().decode(dccValidationRequest.getDcc()));
         encryptedData.setEncKey(Base64.getDecoder().decode(dccValidationRequest.getEncKey()));
-        String dcc = new String(dccCryptService.decryptData(encryptedData,
+        return dccCryptService.decryptData(encryptedData,
             keyProvider.receivePrivateKey(keyProvider.getKeyName(dccValidationRequest.getKid())),
-            dccValidationRequest.getEncScheme(), validationInquiry.getNonce()), StandardCharsets.UTF_8);
-        return dcc;
+            dccValidationRequest.getEncScheme(), validationInquiry.getNonce());
     }
 
     private String cleanKeyString(String rawKey) {
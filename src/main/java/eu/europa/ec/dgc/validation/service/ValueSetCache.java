@@ -1,5 +1,6 @@
 package eu.europa.ec.dgc.validation.service;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -7,4 +8,18 @@ public interface ValueSetCache {
     public Map<String, List<String>> provideValueSets();
 
     public Map<String, List<String>> getValueSets();
+
+    /**
+     * version of the provided value sets, changes whenever different value sets are loaded.
+     * @return version
+     */
+    public long getVersion();
+
+    /**
+     * provide the value sets as immutable snapshot.
+     * @return snapshot
+     */
+    public default ValueSetSnapshot provideSnapshot() {
+        return ValueSetSnapshot.of(getVersion(), Collections.emptySet(), provideValueSets());
+    }
 }
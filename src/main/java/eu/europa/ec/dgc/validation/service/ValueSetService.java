@@ -33,6 +33,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -45,6 +46,8 @@ public class ValueSetService {
 
     private final ValueSetRepository valueSetRepository;
 
+    private final ApplicationEventPublisher applicationEventPublisher;
+
 
     /**
      * Gets list of all value set ids and hashes.
@@ -94,6 +97,7 @@ public class ValueSetService {
                 log.debug("Value set already exists in database. Persisting skipped.");
             }
         }
+        applicationEventPublisher.publishEvent(new ValueSetsUpdatedEvent());
 
     }
 
@@ -0,0 +1,84 @@
+package eu.europa.ec.dgc.validation.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable value sets of one version.
+ * The codes keep their stored order and are the same instances for the whole lifetime of the snapshot,
+ * codes are interned so consecutive versions share them. The value sets are also kept as the
+ * external.valueSets node of the CertLogic data, rules are specialised against it per version.
+ */
+public final class ValueSetSnapshot {
+    private final long version;
+    private final Set<String> hashes;
+    private final Map<String, List<String>> codeLists;
+    private final JsonNode valueSetsNode;
+
+    private ValueSetSnapshot(long version, Set<String> hashes, Map<String, List<String>> codeLists) {
+        this.version = version;
+        this.hashes = hashes;
+        this.codeLists = codeLists;
+        ObjectNode node = JsonNodeFactory.instance.objectNode();
+        codeLists.forEach((id, codes) -> {
+            ArrayNode array = node.putArray(id);
+            codes.forEach(array::add);
+        });
+        this.valueSetsNode = node;
+    }
+
+    /**
+     * create snapshot.
+     * @param version version
+     * @param hashes hashes of the stored value sets
+     * @param valueSets codes per value set id
+     * @return snapshot
+     */
+    public static ValueSetSnapshot of(long version, Set<String> hashes, Map<String, List<String>> valueSets) {
+        Map<String, List<String>> codeLists = new HashMap<>();
+        valueSets.forEach((id, codes) -> {
+            List<String> interned = new ArrayList<>(codes.size());
+            for (String code : codes) {
+                interned.add(code.intern());
+            }
+            codeLists.put(id.intern(), Collections.unmodifiableList(interned));
+        });
+        return new ValueSetSnapshot(version, Set.copyOf(hashes), Collections.unmodifiableMap(codeLists));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Set<String> getHashes() {
+        return hashes;
+    }
+
+    /**
+     * codes of all value sets in stored order.
+     * @return unmodifiable codes per value set id
+     */
+    public Map<String, List<String>> getValueSets() {
+        return codeLists;
+    }
+
+    /**
+     * value sets as they appear in external.valueSets of the CertLogic data, rules are compiled against them.
+     * @return value sets node, must not be modified
+     */
+    public JsonNode getValueSetsNode() {
+        return valueSetsNode;
+    }
+
+    public int size() {
+        return codeLists.size();
+    }
+}
@@ -0,0 +1,7 @@
+package eu.europa.ec.dgc.validation.service;
+
+/**
+ * Published after the stored value sets were updated.
+ */
+public class ValueSetsUpdatedEvent {
+}
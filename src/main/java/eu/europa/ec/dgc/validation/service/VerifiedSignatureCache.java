@@ -0,0 +1,113 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.utils.CacheStatistics;
+import eu.europa.ec.dgc.validation.utils.ExpiringCache;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.Certificate;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Memo of verified cose signatures keyed by (SHA-256 of the cose message, kid, trust list version).
+ * Repeated submissions of the same dcc skip the public key verification, the signer certificate is returned
+ * so its expiry is still checked against the validation clock of each request.
+ * All entries are dropped as soon as a newer trust list version is seen.
+ */
+@Component
+@Slf4j
+public class VerifiedSignatureCache {
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final ExpiringCache<Key, Certificate> cache;
+    private volatile long trustListVersion;
+
+    /**
+     * constructor.
+     * @param dgcConfigProperties dgcConfigProperties
+     */
+    public VerifiedSignatureCache(DgcConfigProperties dgcConfigProperties) {
+        DgcConfigProperties.CacheConfig config = dgcConfigProperties.getVerifiedSignatureCache();
+        cache = new ExpiringCache<>(config.getMaxSize(), Duration.ofSeconds(config.getExpire()));
+        log.info("verified signature cache maxSize={} expire={}s", config.getMaxSize(), config.getExpire());
+    }
+
+    /**
+     * get signer certificate of a verified cose message from cache or verify it.
+     * @param cose cose message
+     * @param kid base64 encoded kid
+     * @param trustListVersion trust list version read before the certificates of the kid were looked up
+     * @param verifier verifier used on cache miss, returns the signer certificate or null if not verified
+     * @return signer certificate or null if the signature could not be verified
+     */
+    public Certificate get(byte[] cose, String kid, long trustListVersion, Supplier<Certificate> verifier) {
+        if (!isCurrent(trustListVersion)) {
+            return verifier.get();
+        }
+        return cache.get(new Key(SHA256.get().digest(cose), kid, trustListVersion), key -> verifier.get());
+    }
+
+    private boolean isCurrent(long version) {
+        if (version == trustListVersion) {
+            return true;
+        }
+        synchronized (this) {
+            if (version > trustListVersion) {
+                log.debug("trust list version {} replaces {}, dropping {} verified signatures", version,
+                    trustListVersion, cache.size());
+                cache.clear();
+                trustListVersion = version;
+            }
+            return version == trustListVersion;
+        }
+    }
+
+    public CacheStatistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private static final class Key {
+        private final byte[] hash;
+        private final String kid;
+        private final long trustListVersion;
+        private final int hashCode;
+
+        private Key(byte[] hash, String kid, long trustListVersion) {
+            this.hash = hash;
+            this.kid = kid;
+            this.trustListVersion = trustListVersion;
+            this.hashCode = 31 * (31 * Arrays.hashCode(hash) + kid.hashCode()) + Long.hashCode(trustListVersion);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return trustListVersion == key.trustListVersion && kid.equals(key.kid) && Arrays.equals(hash, key.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
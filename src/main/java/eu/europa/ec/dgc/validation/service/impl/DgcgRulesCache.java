@@ -3,67 +3,218 @@ package eu.europa.ec.dgc.validation.service.impl;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import dgca.verifier.app.engine.data.Rule;
+import dgca.verifier.app.engine.data.RuleCertificateType;
 import dgca.verifier.app.engine.data.source.remote.rules.RuleRemote;
 import dgca.verifier.app.engine.data.source.remote.rules.RuleRemoteMapperKt;
+import eu.europa.ec.dgc.validation.certlogic.CompiledLogic;
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
 import eu.europa.ec.dgc.validation.entity.BusinessRuleEntity;
-import eu.europa.ec.dgc.validation.exception.DccException;
 import eu.europa.ec.dgc.validation.restapi.dto.BusinessRuleListItemDto;
+import eu.europa.ec.dgc.validation.service.ApplicableRules;
 import eu.europa.ec.dgc.validation.service.BusinessRuleService;
+import eu.europa.ec.dgc.validation.service.BusinessRulesUpdatedEvent;
+import eu.europa.ec.dgc.validation.service.RuleIndex;
 import eu.europa.ec.dgc.validation.service.RulesCache;
-import java.time.Duration;
-import java.time.LocalTime;
-import java.time.temporal.TemporalAmount;
+import eu.europa.ec.dgc.validation.service.ValueSetSnapshot;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.RequiredArgsConstructor;
-import org.jetbrains.annotations.NotNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+/**
+ * Rules cache backed by an immutable snapshot of all stored rules.
+ * The snapshot is rebuilt after each business rules update and periodically checked against the stored
+ * rule hashes (rules may have been downloaded by another instance), requests never hit the database
+ * once the first snapshot exists. Parsed rules are kept by their hash, a rebuild only loads and parses
+ * rules with new hashes. Stored rules which can not be parsed are logged and left out of the snapshot, so a
+ * single broken rule does not hold back the rules of all other countries. With compiled CertLogic enabled
+ * the logic of a rule is compiled right after parsing, so each stored rule is compiled once.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class DgcgRulesCache implements RulesCache {
+    private static final int QUERY_BATCH_SIZE = 1000;
+
     private final BusinessRuleService businessRuleService;
     private final ObjectMapper objectMapper;
-    private Map<String, List<Rule>> rulesMap = new HashMap<>();
-    private LocalTime expireTime;
+    private final DgcConfigProperties dgcConfigProperties;
+    private final AtomicReference<RulesSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong reloads = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong parsedRules = new AtomicLong();
+    private final AtomicLong skippedRules = new AtomicLong();
+
+    @Override
+    public ApplicableRules provideApplicableRules(String countryOfArrival, String regionOfArrival,
+                                             String issuerCountry, RuleCertificateType certificateType,
+                                             ZonedDateTime validationClock, ValueSetSnapshot valueSets) {
+        RulesSnapshot rulesSnapshot = snapshot.get();
+        if (rulesSnapshot == null) {
+            rulesSnapshot = load();
+        }
+        return new ApplicableRules(rulesSnapshot.version, rulesSnapshot.ruleIndex.applicableRules(countryOfArrival,
+            regionOfArrival, issuerCountry, certificateType, validationClock, valueSets));
+    }
+
+    @Override
+    public long getVersion() {
+        return version.get();
+    }
 
-    private static final TemporalAmount expireSpan = Duration.ofMinutes(15);
+    public long getReloads() {
+        return reloads.get();
+    }
+
+    public long getRefreshes() {
+        return refreshes.get();
+    }
+
+    public long getParsedRules() {
+        return parsedRules.get();
+    }
+
+    public long getSkippedRules() {
+        return skippedRules.get();
+    }
+
+    /**
+     * number of rules of the current snapshot specialised for value sets.
+     * @return specialisations
+     */
+    public long getSpecializations() {
+        RulesSnapshot rulesSnapshot = snapshot.get();
+        return rulesSnapshot == null ? 0 : rulesSnapshot.ruleIndex.getSpecializations();
+    }
 
     /**
-     * provide rules.
-     * @param countryOfArrival countryOfArrival
-     * @param issuerCountry issuerCountry
-     * @return list of rules
+     * number of rules in the current snapshot.
+     * @return size
      */
-    public List<Rule> provideRules(String countryOfArrival, String issuerCountry) {
-        List<Rule> rules = rulesMap.get(countryOfArrival);
-        if (rules == null || expireTime == null || expireTime.isAfter(LocalTime.now())) {
-            rules = getRules(countryOfArrival, issuerCountry);
-            rulesMap.put(countryOfArrival, rules);
-            expireTime = LocalTime.now().plus(expireSpan);
+    public int size() {
+        RulesSnapshot rulesSnapshot = snapshot.get();
+        return rulesSnapshot == null ? 0 : rulesSnapshot.hashes.size();
+    }
+
+    /**
+     * rebuild snapshot after business rules update.
+     * @param event event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBusinessRulesUpdated(BusinessRulesUpdatedEvent event) {
+        refresh();
+    }
+
+    /**
+     * rebuild snapshot if the stored rules changed.
+     */
+    @Scheduled(fixedDelayString = "${dgc.businessRulesDownload.timeInterval}")
+    public void refresh() {
+        refreshes.incrementAndGet();
+        try {
+            load();
+        } catch (RuntimeException e) {
+            log.error("rules snapshot refresh failed, keeping version {}", version.get(), e);
         }
-        return rules;
     }
 
-    @NotNull
-    private List<Rule> getRules(String countryOfArrival, String issuerCountry) {
-        List<BusinessRuleListItemDto> rulesDto = businessRuleService.getBusinessRulesListForCountry(
-            countryOfArrival, issuerCountry);
-        List<Rule> rules = new ArrayList<>();
-        for (BusinessRuleListItemDto ruleDto : rulesDto) {
-            BusinessRuleEntity ruleData = businessRuleService.getBusinessRuleByCountryAndHash(
-                ruleDto.getCountry(), ruleDto.getHash());
-            if (ruleData != null) {
-                try {
-                    RuleRemote ruleRemote = objectMapper.readValue(ruleData.getRawData(), RuleRemote.class);
-                    rules.add(RuleRemoteMapperKt.toRule(ruleRemote));
-                } catch (JsonProcessingException e) {
-                    throw new DccException("can not parse rule", e);
+    private synchronized RulesSnapshot load() {
+        List<BusinessRuleListItemDto> ruleList = businessRuleService.getBusinessRulesList();
+        Set<String> hashes = new HashSet<>();
+        for (BusinessRuleListItemDto ruleDto : ruleList) {
+            hashes.add(ruleDto.getHash());
+        }
+        RulesSnapshot current = snapshot.get();
+        if (current != null && current.hashes.equals(hashes)) {
+            return current;
+        }
+        Map<String, Rule> previousRules = current == null ? Collections.emptyMap() : current.rulesByHash;
+        List<String> newHashes = new ArrayList<>();
+        for (String hash : hashes) {
+            if (!previousRules.containsKey(hash)) {
+                newHashes.add(hash);
+            }
+        }
+        Map<String, Rule> newRules = parseRules(newHashes);
+
+        List<Rule> allRules = new ArrayList<>();
+        Map<String, Rule> rulesByHash = new HashMap<>();
+        for (BusinessRuleListItemDto ruleDto : ruleList) {
+            Rule rule = previousRules.get(ruleDto.getHash());
+            if (rule == null) {
+                rule = newRules.get(ruleDto.getHash());
+            }
+            if (rule != null) {
+                allRules.add(rule);
+                rulesByHash.put(ruleDto.getHash(), rule);
+            }
+        }
+        RulesSnapshot rulesSnapshot = new RulesSnapshot(version.get() + 1, Collections.unmodifiableSet(hashes),
+            rulesByHash, RuleIndex.of(allRules));
+        snapshot.set(rulesSnapshot);
+        version.set(rulesSnapshot.version);
+        reloads.incrementAndGet();
+        log.info("rules snapshot version {} loaded with {} rules, {} parsed", rulesSnapshot.version,
+            hashes.size(), newRules.size());
+        return rulesSnapshot;
+    }
+
+    private Map<String, Rule> parseRules(List<String> hashes) {
+        Map<String, Rule> rules = new HashMap<>();
+        for (int start = 0; start < hashes.size(); start += QUERY_BATCH_SIZE) {
+            List<String> batch = hashes.subList(start, Math.min(start + QUERY_BATCH_SIZE, hashes.size()));
+            for (BusinessRuleEntity ruleData : businessRuleService.getBusinessRulesByHashes(batch)) {
+                Rule rule = parseRule(ruleData);
+                if (rule != null) {
+                    rules.put(ruleData.getHash(), rule);
                 }
             }
         }
+        parsedRules.addAndGet(rules.size());
         return rules;
     }
+
+    /**
+     * parse and compile a stored rule.
+     * @return rule or null if the rule can not be parsed or compiled
+     */
+    private Rule parseRule(BusinessRuleEntity ruleData) {
+        try {
+            RuleRemote ruleRemote = objectMapper.readValue(ruleData.getRawData(), RuleRemote.class);
+            Rule rule = RuleRemoteMapperKt.toRule(ruleRemote);
+            return dgcConfigProperties.getCompiledCertLogic().isEnabled() ? CompiledLogic.compile(rule) : rule;
+        } catch (JsonProcessingException | RuntimeException e) {
+            skippedRules.incrementAndGet();
+            log.error("can not parse rule {} with hash {}, leaving it out of the rules snapshot",
+                ruleData.getIdentifier(), ruleData.getHash(), e);
+            return null;
+        }
+    }
+
+    private static final class RulesSnapshot {
+        private final long version;
+        private final Set<String> hashes;
+        private final Map<String, Rule> rulesByHash;
+        private final RuleIndex ruleIndex;
+
+        private RulesSnapshot(long version, Set<String> hashes, Map<String, Rule> rulesByHash,
+                              RuleIndex ruleIndex) {
+            this.version = version;
+            this.hashes = hashes;
+            this.rulesByHash = rulesByHash;
+            this.ruleIndex = ruleIndex;
+        }
+    }
 }
@@ -8,37 +8,112 @@ import eu.europa.ec.dgc.validation.exception.DccException;
 import eu.europa.ec.dgc.validation.restapi.dto.ValueSetListItemDto;
 import eu.europa.ec.dgc.validation.service.ValueSetCache;
 import eu.europa.ec.dgc.validation.service.ValueSetService;
-import java.time.Duration;
-import java.time.LocalTime;
-import java.time.temporal.TemporalAmount;
+import eu.europa.ec.dgc.validation.service.ValueSetSnapshot;
+import eu.europa.ec.dgc.validation.service.ValueSetsUpdatedEvent;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+/**
+ * Value set cache backed by an immutable snapshot of all stored value sets.
+ * The snapshot is rebuilt after each value set update and periodically checked against the stored
+ * value set hashes, it is only rebuilt when the hashes changed.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class DgcgValueSetCache implements ValueSetCache {
     private final ObjectMapper objectMapper;
     private final ValueSetService valueSetService;
-    private Map<String, List<String>> valueSets;
-    private LocalTime expireTime;
-
-    private static final TemporalAmount expireSpan = Duration.ofMinutes(15);
+    private final AtomicReference<ValueSetSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLong reloads = new AtomicLong();
 
     /**
      * provide Value Sets.
-     * @return value sets
+     * @return unmodifiable value sets of the current snapshot
      */
     public Map<String, List<String>> provideValueSets() {
-        if (valueSets == null || expireTime == null || expireTime.isAfter(LocalTime.now())) {
-            valueSets = getValueSets();
-            expireTime = LocalTime.now().plus(expireSpan);
+        return provideSnapshot().getValueSets();
+    }
+
+    @Override
+    public ValueSetSnapshot provideSnapshot() {
+        ValueSetSnapshot valueSetSnapshot = snapshot.get();
+        if (valueSetSnapshot == null) {
+            valueSetSnapshot = load();
         }
-        return valueSets;
+        return valueSetSnapshot;
+    }
+
+    @Override
+    public long getVersion() {
+        return version.get();
+    }
+
+    public long getReloads() {
+        return reloads.get();
+    }
+
+    /**
+     * number of value sets in the current snapshot.
+     * @return size
+     */
+    public int size() {
+        ValueSetSnapshot valueSetSnapshot = snapshot.get();
+        return valueSetSnapshot == null ? 0 : valueSetSnapshot.size();
+    }
+
+    /**
+     * rebuild snapshot after value sets update.
+     * @param event event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onValueSetsUpdated(ValueSetsUpdatedEvent event) {
+        refresh();
+    }
+
+    /**
+     * rebuild snapshot if the stored value sets changed.
+     */
+    @Scheduled(fixedDelayString = "${dgc.valueSetsDownload.timeInterval}")
+    public void refresh() {
+        try {
+            load();
+        } catch (RuntimeException e) {
+            log.error("value sets snapshot refresh failed, keeping version {}", version.get(), e);
+        }
+    }
+
+    private synchronized ValueSetSnapshot load() {
+        List<ValueSetListItemDto> valueSetList = valueSetService.getValueSetsList();
+        Set<String> hashes = new HashSet<>();
+        for (ValueSetListItemDto valueSetListItemDto : valueSetList) {
+            hashes.add(valueSetListItemDto.getHash());
+        }
+        ValueSetSnapshot current = snapshot.get();
+        if (current != null && current.getHashes().equals(hashes)) {
+            return current;
+        }
+        ValueSetSnapshot valueSetSnapshot = ValueSetSnapshot.of(version.get() + 1, hashes,
+            getValueSets(valueSetList));
+        snapshot.set(valueSetSnapshot);
+        version.set(valueSetSnapshot.getVersion());
+        reloads.incrementAndGet();
+        log.info("value sets snapshot version {} loaded with {} value sets", valueSetSnapshot.getVersion(),
+            valueSetSnapshot.size());
+        return valueSetSnapshot;
     }
 
     /**
@@ -46,9 +121,16 @@ public class DgcgValueSetCache implements ValueSetCache {
      * @return value sets
      */
     public Map<String, List<String>> getValueSets() {
+        return getValueSets(valueSetService.getValueSetsList());
+    }
+
+    private Map<String, List<String>> getValueSets(List<ValueSetListItemDto> valueSetList) {
         Map<String, List<String>> valueSets = new HashMap<>();
-        for (ValueSetListItemDto valueSetListItemDto : valueSetService.getValueSetsList()) {
+        for (ValueSetListItemDto valueSetListItemDto : valueSetList) {
             ValueSetEntity valueSetEntity = valueSetService.getValueSetByHash(valueSetListItemDto.getHash());
+            if (valueSetEntity == null) {
+                continue;
+            }
             try {
                 ValueSetRemote valueSet = objectMapper.readValue(valueSetEntity.getRawData(), ValueSetRemote.class);
                 List<String> ids = new ArrayList<>();
@@ -7,6 +7,7 @@ import eu.europa.ec.dgc.validation.entity.KeyType;
 import eu.europa.ec.dgc.validation.entity.KeyUse;
 import eu.europa.ec.dgc.validation.exception.DccException;
 import eu.europa.ec.dgc.validation.service.KeyProvider;
+import eu.europa.ec.dgc.validation.utils.CryptoPrimitives;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -28,7 +29,6 @@ import java.util.Set;
 import javax.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -56,7 +56,7 @@ public class KeyStoreKeyProvider implements KeyProvider {
         KeyStoreException, UnrecoverableEntryException {
         final char[] keyStorePassword = dgcConfigProperties.getKeyStorePassword().toCharArray();
 
-        Security.addProvider(new BouncyCastleProvider());
+        CryptoPrimitives.registerBouncyCastle();
         Security.setProperty("crypto.policy", "unlimited");
 
         KeyStore keyStore = KeyStore.getInstance("JKS");
@@ -6,6 +6,7 @@ import eu.europa.ec.dgc.validation.entity.ValidationInquiry;
 import eu.europa.ec.dgc.validation.exception.DccException;
 import eu.europa.ec.dgc.validation.service.KeyProvider;
 import eu.europa.ec.dgc.validation.service.ValidationStoreService;
+import eu.europa.ec.dgc.validation.utils.CryptoPrimitives;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
@@ -62,6 +63,7 @@ public class RedisValidationStoreService implements ValidationStoreService {
         InvalidAlgorithmParameterException, InvalidKeyException, BadPaddingException, IllegalBlockSizeException {
         AesSecrets aesSecrets = deriveSecrets(validationInquiry.getSubject(),
             keyProvider.receivePrivateKey(keyProvider.getActiveSignKey()));
+        // GCM ciphers refuse to encrypt twice with the same key and iv, which are derived from the subject
         Cipher cipher = Cipher.getInstance(AES_CHIPPER);
         // Create SecretKeySpec
         SecretKeySpec keySpec = new SecretKeySpec(aesSecrets.secretKey, "AES");
@@ -81,7 +83,7 @@ public class RedisValidationStoreService implements ValidationStoreService {
         BadPaddingException, IllegalBlockSizeException {
 
         AesSecrets aesSecrets = deriveSecrets(subject, keyProvider.receivePrivateKey(keyProvider.getActiveSignKey()));
-        Cipher cipher = Cipher.getInstance(AES_CHIPPER);
+        Cipher cipher = CryptoPrimitives.DEFAULT.cipher(AES_CHIPPER);
         // Create SecretKeySpec
         SecretKeySpec keySpec = new SecretKeySpec(aesSecrets.secretKey, "AES");
         // Create GCMParameterSpec
@@ -1,43 +1,75 @@
 package eu.europa.ec.dgc.validation.token;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import eu.europa.ec.dgc.validation.exception.DccException;
 import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenPayload;
-import io.jsonwebtoken.Jwt;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import java.io.IOException;
 import java.security.PublicKey;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 @Service
 public class AccessTokenParser {
+    private static final TypeReference<Map<String, Object>> HEADER_TYPE = new TypeReference<>() { };
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, KeyParser> parsers = new ConcurrentHashMap<>();
 
     /**
-     * parse Token.
+     * verify signed token and map its claims.
+     * The parser of a kid is created once and reused as long as the kid maps to the same public key.
      * @param jwtCompact jwtCompact
+     * @param kid kid of the signing key
      * @param publicKey publicKey
      * @return AccessTokenPayload
      */
-    public AccessTokenPayload parseToken(String jwtCompact, PublicKey publicKey) {
-        Jwt token = Jwts.parser().setSigningKey(publicKey).parse(jwtCompact);
-        try {
-            String payloadJson = objectMapper.writeValueAsString(token.getBody());
-            return objectMapper.readValue(payloadJson, AccessTokenPayload.class);
-        } catch (JsonProcessingException e) {
-            throw new DccException("can not parse access token " + e.getMessage(), HttpStatus.SC_BAD_REQUEST);
+    public AccessTokenPayload verifyToken(String jwtCompact, String kid, PublicKey publicKey) {
+        KeyParser keyParser = parsers.get(kid);
+        if (keyParser == null || keyParser.publicKey != publicKey) {
+            keyParser = new KeyParser(publicKey, Jwts.parser().setSigningKey(publicKey));
+            parsers.put(kid, keyParser);
         }
+        return toPayload(keyParser.parser.parseClaimsJws(jwtCompact).getBody());
     }
 
     /**
-     * extract payload.
+     * decode the header of a compact token without touching payload or signature.
      * @param jwtCompact jwtCompact
-     * @return JWT
+     * @return header
      */
-    public Jwt extractPayload(String jwtCompact) {
-        String[] splitToken = jwtCompact.split("\\.");
-        String unsignedToken = splitToken[0] + "." + splitToken[1] + ".";
-        return Jwts.parser().parse(unsignedToken);
+    public Map<String, Object> parseHeader(String jwtCompact) {
+        int end = jwtCompact.indexOf('.');
+        if (end < 0) {
+            throw new DccException("can not parse access token header", HttpStatus.SC_BAD_REQUEST);
+        }
+        try {
+            return objectMapper.readValue(Base64.getUrlDecoder().decode(jwtCompact.substring(0, end)), HEADER_TYPE);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new DccException("can not parse access token header " + e.getMessage(), HttpStatus.SC_BAD_REQUEST);
+        }
+    }
+
+    private AccessTokenPayload toPayload(Claims claims) {
+        try {
+            return objectMapper.convertValue(claims, AccessTokenPayload.class);
+        } catch (IllegalArgumentException e) {
+            throw new DccException("can not parse access token " + e.getMessage(), HttpStatus.SC_BAD_REQUEST);
+        }
+    }
+
+    private static final class KeyParser {
+        private final PublicKey publicKey;
+        private final JwtParser parser;
+
+        private KeyParser(PublicKey publicKey, JwtParser parser) {
+            this.publicKey = publicKey;
+            this.parser = parser;
+        }
     }
 }
@@ -0,0 +1,111 @@
+package eu.europa.ec.dgc.validation.token;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.europa.ec.dgc.validation.exception.DccException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.PrivateKey;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.bouncycastle.asn1.x9.ECNamedCurveTable;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.params.ECDomainParameters;
+import org.bouncycastle.crypto.params.ECPrivateKeyParameters;
+import org.bouncycastle.crypto.signers.ECDSASigner;
+import org.bouncycastle.crypto.signers.HMacDSAKCalculator;
+import org.bouncycastle.jcajce.provider.asymmetric.util.ECUtil;
+import org.bouncycastle.math.ec.FixedPointUtil;
+import org.bouncycastle.util.BigIntegers;
+
+/**
+ * ES256 JWS signer for one P-256 key.
+ * The fixed point comb table of the curve base point is precomputed when the signer is created and the
+ * JOSE header segment is encoded once, so signing a token only serializes the claims and runs one
+ * comb multiplication. Nonces are derived deterministically (RFC 6979).
+ * Instances are immutable and thread safe.
+ */
+public final class Es256JwsSigner {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+    private static final int P256_FIELD_BYTES = 32;
+    private static final ECDomainParameters P256 = new ECDomainParameters(ECNamedCurveTable.getByName("P-256"));
+
+    private final String kid;
+    private final PrivateKey privateKey;
+    private final ECPrivateKeyParameters keyParameters;
+    private final String encodedHeader;
+
+    /**
+     * create signer, precomputes the multiplication table of the key's curve.
+     * @param privateKey P-256 private key
+     * @param kid kid
+     */
+    public Es256JwsSigner(PrivateKey privateKey, String kid) {
+        try {
+            this.keyParameters = (ECPrivateKeyParameters) ECUtil.generatePrivateKeyParameter(privateKey);
+        } catch (InvalidKeyException | ClassCastException e) {
+            throw new DccException("ES256 signing requires an EC private key", e);
+        }
+        if (!P256.equals(keyParameters.getParameters())) {
+            throw new DccException("ES256 signing requires a P-256 key");
+        }
+        FixedPointUtil.precompute(keyParameters.getParameters().getG());
+        this.kid = kid;
+        this.privateKey = privateKey;
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("typ", "JWT");
+        header.put("kid", kid);
+        header.put("alg", "ES256");
+        this.encodedHeader = BASE64_URL.encodeToString(serialize(header));
+    }
+
+    /**
+     * sign claims.
+     * @param claims claims, serialized as json
+     * @return compact jws
+     */
+    public String sign(Map<String, Object> claims) {
+        return sign(serialize(claims));
+    }
+
+    /**
+     * sign payload.
+     * @param payload payload bytes
+     * @return compact jws
+     */
+    public String sign(byte[] payload) {
+        String signingInput = encodedHeader + '.' + BASE64_URL.encodeToString(payload);
+        byte[] data = signingInput.getBytes(StandardCharsets.US_ASCII);
+        SHA256Digest digest = new SHA256Digest();
+        byte[] hash = new byte[digest.getDigestSize()];
+        digest.update(data, 0, data.length);
+        digest.doFinal(hash, 0);
+
+        ECDSASigner signer = new ECDSASigner(new HMacDSAKCalculator(new SHA256Digest()));
+        signer.init(true, keyParameters);
+        BigInteger[] signature = signer.generateSignature(hash);
+        byte[] rs = new byte[2 * P256_FIELD_BYTES];
+        BigIntegers.asUnsignedByteArray(signature[0], rs, 0, P256_FIELD_BYTES);
+        BigIntegers.asUnsignedByteArray(signature[1], rs, P256_FIELD_BYTES, P256_FIELD_BYTES);
+        return signingInput + '.' + BASE64_URL.encodeToString(rs);
+    }
+
+    private static byte[] serialize(Object value) {
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new DccException("can not serialize jwt", e);
+        }
+    }
+
+    public String getKid() {
+        return kid;
+    }
+
+    public PrivateKey getPrivateKey() {
+        return privateKey;
+    }
+}
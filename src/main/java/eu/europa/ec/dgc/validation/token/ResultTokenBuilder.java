@@ -3,29 +3,18 @@ package eu.europa.ec.dgc.validation.token;
 import eu.europa.ec.dgc.validation.restapi.dto.ResultTypeIdentifier;
 import eu.europa.ec.dgc.validation.restapi.dto.ValidationStatusResponse;
 import eu.europa.ec.dgc.validation.restapi.dto.ValidationStatusResponse.Result.ResultType;
-import io.jsonwebtoken.JwtBuilder;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import java.security.PrivateKey;
 import java.time.Instant;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 
 public class ResultTokenBuilder {
-    private final JwtBuilder builder;
-    private final JwtBuilder builder2;
-
-    /**
-     * constructor.
-     */
-    public ResultTokenBuilder() {
-        builder = Jwts.builder();
-        builder2 = Jwts.builder();
-        builder.setHeaderParam("typ", "JWT");
-    }
 
     /**
      * evaluate Result.
@@ -50,8 +39,10 @@ public class ResultTokenBuilder {
      * @param results results
      * @param subject subject
      * @param issuer issuer
-     * @param privateKey privateKey
-     * @param kid kid
+     * @param category category
+     * @param expiration expiration
+     * @param signer ES256 signer of the sign key
+     * @param privacy omit the results
      * @return jwt token
      */
     public String build(List<ValidationStatusResponse.Result> results,
@@ -59,41 +50,82 @@ public class ResultTokenBuilder {
                         String issuer,
                         String[] category,
                         Date expiration,
-                        PrivateKey privateKey,
-                        String kid,
+                        Es256JwsSigner signer,
                         boolean privacy) {
+        ResultTokens resultTokens = buildTokens(results, subject, issuer, category, expiration, signer,
+            !privacy, privacy);
+        return privacy ? resultTokens.getPrivacyResultToken() : resultTokens.getResultToken();
+    }
 
+    /**
+     * build the result token and the privacy result token in one pass.
+     * The outcome is evaluated once and both tokens embed the same confirmation token.
+     * @param results results
+     * @param subject subject
+     * @param issuer issuer
+     * @param category category
+     * @param expiration expiration
+     * @param signer ES256 signer of the sign key
+     * @param resultToken build the result token
+     * @param privacyResultToken build the privacy result token (results omitted)
+     * @return tokens, the ones not requested are null
+     */
+    public ResultTokens buildTokens(List<ValidationStatusResponse.Result> results,
+                                    String subject,
+                                    String issuer,
+                                    String[] category,
+                                    Date expiration,
+                                    Es256JwsSigner signer,
+                                    boolean resultToken,
+                                    boolean privacyResultToken) {
         String result = evaluateResult(results);
+        long issuedAt = Instant.now().getEpochSecond();
+        long expiresAt = expiration.toInstant().getEpochSecond();
 
-        List<ValidationStatusResponse.Result> badResults = results
-            .stream()
-            .filter(r -> r.getResult() != ResultType.OK)
-            .collect(Collectors.toList());
+        Map<String, Object> confirmationClaims = new LinkedHashMap<>();
+        confirmationClaims.put("jti", UUID.randomUUID().toString());
+        confirmationClaims.put("sub", subject);
+        confirmationClaims.put("iss", issuer);
+        confirmationClaims.put("iat", issuedAt);
+        confirmationClaims.put("exp", expiresAt);
+        confirmationClaims.put("result", result);
+        confirmationClaims.put("category", category);
+        String confirmation = signer.sign(confirmationClaims);
 
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", subject);
+        claims.put("iss", issuer);
+        claims.put("iat", issuedAt);
+        claims.put("exp", expiresAt);
+        claims.put("category", category);
+        claims.put("confirmation", confirmation);
+        // placeholder, keeps the claim order of the token
+        claims.put("results", null);
+        claims.put("result", result);
 
-        String confirmation = builder2.setHeaderParam("kid", kid)
-            .setId(UUID.randomUUID().toString())
-            .setHeaderParam("alg", "ES256")
-            .setSubject(subject)
-            .setIssuer(issuer)
-            .setIssuedAt(Date.from(Instant.now()))
-            .setExpiration(expiration)
-            .signWith(SignatureAlgorithm.ES256, privateKey)
-            .claim("result", result)
-            .claim("category",category)
-            .compact();
+        String token = null;
+        if (resultToken) {
+            claims.put("results", results
+                .stream()
+                .filter(r -> r.getResult() != ResultType.OK)
+                .collect(Collectors.toList()));
+            token = signer.sign(claims);
+        }
+        String privacyToken = null;
+        if (privacyResultToken) {
+            claims.put("results", Collections.emptyList());
+            privacyToken = signer.sign(claims);
+        }
+        return new ResultTokens(token, privacyToken);
+    }
 
-        return builder.setHeaderParam("kid", kid)
-            .setHeaderParam("alg", "ES256")
-            .setSubject(subject)
-            .setIssuer(issuer)
-            .setIssuedAt(Date.from(Instant.now()))
-            .setExpiration(expiration)
-            .signWith(SignatureAlgorithm.ES256, privateKey)
-            .claim("category",category)
-            .claim("confirmation", confirmation)
-            .claim("results", privacy ? new ArrayList<ValidationStatusResponse.Result>() : badResults)
-            .claim("result", result)
-            .compact();
+    /**
+     * result tokens sharing one confirmation token.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class ResultTokens {
+        private final String resultToken;
+        private final String privacyResultToken;
     }
 }
@@ -0,0 +1,42 @@
+package eu.europa.ec.dgc.validation.utils;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit and miss counters of a cache.
+ */
+public class CacheStatistics {
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public void hit() {
+        hits.increment();
+    }
+
+    public void miss() {
+        misses.increment();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * hit ratio.
+     * @return hits / (hits + misses) or 0 if the cache was not used yet
+     */
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d, misses=%d, hitRatio=%.3f", getHits(), getMisses(), getHitRatio());
+    }
+}
@@ -0,0 +1,188 @@
+package eu.europa.ec.dgc.validation.utils;
+
+import java.security.KeyFactory;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.Provider;
+import java.security.Security;
+import java.security.Signature;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.SecretKeyFactory;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+
+/**
+ * Thread confined JCA primitives of one provider.
+ * Instances are created once per thread and algorithm and handed out again on every call, so provider
+ * lookup and construction are not paid per request. Callers must (re-)initialise the instance before
+ * use and must neither share it with other threads nor hold it across calls that use the same algorithm.
+ * Ciphers in GCM mode reject being initialised for encryption with the key and iv of their previous
+ * encryption, so encryption with deterministic key and iv needs a fresh cipher instead.
+ */
+public final class CryptoPrimitives {
+    /**
+     * primitives of the JCA default provider order.
+     */
+    public static final CryptoPrimitives DEFAULT = new CryptoPrimitives(null);
+
+    /**
+     * primitives of the BouncyCastle provider.
+     */
+    public static final CryptoPrimitives BOUNCY_CASTLE = new CryptoPrimitives(registerBouncyCastle());
+
+    private final Provider provider;
+    private final LongAdder instancesCreated = new LongAdder();
+    private final ThreadLocal<Map<String, Cipher>> ciphers = ThreadLocal.withInitial(HashMap::new);
+    private final ThreadLocal<Map<String, Signature>> signatures = ThreadLocal.withInitial(HashMap::new);
+    private final ThreadLocal<Map<String, KeyFactory>> keyFactories = ThreadLocal.withInitial(HashMap::new);
+    private final ThreadLocal<Map<String, SecretKeyFactory>> secretKeyFactories =
+        ThreadLocal.withInitial(HashMap::new);
+    private final ThreadLocal<Map<String, KeyGenerator>> keyGenerators = ThreadLocal.withInitial(HashMap::new);
+    private final ThreadLocal<Map<String, KeyPairGenerator>> keyPairGenerators =
+        ThreadLocal.withInitial(HashMap::new);
+
+    private CryptoPrimitives(Provider provider) {
+        this.provider = provider;
+    }
+
+    /**
+     * register the BouncyCastle provider unless a provider with its name is registered already.
+     * @return registered provider
+     */
+    public static synchronized Provider registerBouncyCastle() {
+        Provider registered = Security.getProvider(BouncyCastleProvider.PROVIDER_NAME);
+        if (registered == null) {
+            registered = new BouncyCastleProvider();
+            Security.addProvider(registered);
+        }
+        return registered;
+    }
+
+    /**
+     * cipher of this thread, must be initialised before use.
+     * @param transformation transformation
+     * @return cipher
+     * @throws NoSuchAlgorithmException NoSuchAlgorithmException
+     * @throws NoSuchPaddingException NoSuchPaddingException
+     */
+    public Cipher cipher(String transformation) throws NoSuchAlgorithmException, NoSuchPaddingException {
+        Map<String, Cipher> instances = ciphers.get();
+        Cipher cipher = instances.get(transformation);
+        if (cipher == null) {
+            cipher = provider == null ? Cipher.getInstance(transformation)
+                : Cipher.getInstance(transformation, provider);
+            instances.put(transformation, created(cipher));
+        }
+        return cipher;
+    }
+
+    /**
+     * signature of this thread, must be initialised for signing or verification before use.
+     * @param algorithm algorithm
+     * @return signature
+     * @throws NoSuchAlgorithmException NoSuchAlgorithmException
+     */
+    public Signature signature(String algorithm) throws NoSuchAlgorithmException {
+        Map<String, Signature> instances = signatures.get();
+        Signature signature = instances.get(algorithm);
+        if (signature == null) {
+            signature = provider == null ? Signature.getInstance(algorithm)
+                : Signature.getInstance(algorithm, provider);
+            instances.put(algorithm, created(signature));
+        }
+        return signature;
+    }
+
+    /**
+     * key factory of this thread.
+     * @param algorithm algorithm
+     * @return key factory
+     * @throws NoSuchAlgorithmException NoSuchAlgorithmException
+     */
+    public KeyFactory keyFactory(String algorithm) throws NoSuchAlgorithmException {
+        Map<String, KeyFactory> instances = keyFactories.get();
+        KeyFactory keyFactory = instances.get(algorithm);
+        if (keyFactory == null) {
+            keyFactory = provider == null ? KeyFactory.getInstance(algorithm)
+                : KeyFactory.getInstance(algorithm, provider);
+            instances.put(algorithm, created(keyFactory));
+        }
+        return keyFactory;
+    }
+
+    /**
+     * secret key factory of this thread.
+     * @param algorithm algorithm
+     * @return secret key factory
+     * @throws NoSuchAlgorithmException NoSuchAlgorithmException
+     */
+    public SecretKeyFactory secretKeyFactory(String algorithm) throws NoSuchAlgorithmException {
+        Map<String, SecretKeyFactory> instances = secretKeyFactories.get();
+        SecretKeyFactory secretKeyFactory = instances.get(algorithm);
+        if (secretKeyFactory == null) {
+            secretKeyFactory = provider == null ? SecretKeyFactory.getInstance(algorithm)
+                : SecretKeyFactory.getInstance(algorithm, provider);
+            instances.put(algorithm, created(secretKeyFactory));
+        }
+        return secretKeyFactory;
+    }
+
+    /**
+     * key generator of this thread, must be initialised before use.
+     * @param algorithm algorithm
+     * @return key generator
+     * @throws NoSuchAlgorithmException NoSuchAlgorithmException
+     */
+    public KeyGenerator keyGenerator(String algorithm) throws NoSuchAlgorithmException {
+        Map<String, KeyGenerator> instances = keyGenerators.get();
+        KeyGenerator keyGenerator = instances.get(algorithm);
+        if (keyGenerator == null) {
+            keyGenerator = provider == null ? KeyGenerator.getInstance(algorithm)
+                : KeyGenerator.getInstance(algorithm, provider);
+            instances.put(algorithm, created(keyGenerator));
+        }
+        return keyGenerator;
+    }
+
+    /**
+     * key pair generator of this thread, must be initialised before use.
+     * @param algorithm algorithm
+     * @return key pair generator
+     * @throws NoSuchAlgorithmException NoSuchAlgorithmException
+     */
+    public KeyPairGenerator keyPairGenerator(String algorithm) throws NoSuchAlgorithmException {
+        Map<String, KeyPairGenerator> instances = keyPairGenerators.get();
+        KeyPairGenerator keyPairGenerator = instances.get(algorithm);
+        if (keyPairGenerator == null) {
+            keyPairGenerator = provider == null ? KeyPairGenerator.getInstance(algorithm)
+                : KeyPairGenerator.getInstance(algorithm, provider);
+            instances.put(algorithm, created(keyPairGenerator));
+        }
+        return keyPairGenerator;
+    }
+
+    private <T> T created(T instance) {
+        instancesCreated.increment();
+        return instance;
+    }
+
+    /**
+     * provider of the primitives.
+     * @return provider, null for the JCA default provider order
+     */
+    public Provider getProvider() {
+        return provider;
+    }
+
+    /**
+     * number of instances created over all threads.
+     * @return instances
+     */
+    public long getInstancesCreated() {
+        return instancesCreated.sum();
+    }
+}
@@ -0,0 +1,127 @@
+package eu.europa.ec.dgc.validation.utils;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Size bounded cache with a time to live per entry.
+ * Entries are evicted least recently used first once the maximum size is reached.
+ * A maximum size of 0 disables the cache.
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class ExpiringCache<K, V> {
+    private final int maxSize;
+    private final long timeToLive;
+    private final LongSupplier nanoClock;
+    private final CacheStatistics statistics = new CacheStatistics();
+    private final LinkedHashMap<K, CacheEntry<V>> entries;
+
+    public ExpiringCache(int maxSize, Duration timeToLive) {
+        this(maxSize, timeToLive, System::nanoTime);
+    }
+
+    ExpiringCache(int maxSize, Duration timeToLive, LongSupplier nanoClock) {
+        this.maxSize = maxSize;
+        this.timeToLive = timeToLive.toNanos();
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CacheEntry<V>> eldest) {
+                return size() > ExpiringCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * get cached value.
+     * @param key key
+     * @return value or null if absent or expired
+     */
+    public V get(K key) {
+        if (maxSize <= 0) {
+            statistics.miss();
+            return null;
+        }
+        synchronized (entries) {
+            CacheEntry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAt - nanoClock.getAsLong() > 0) {
+                statistics.hit();
+                return entry.value;
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+        }
+        statistics.miss();
+        return null;
+    }
+
+    /**
+     * get cached value or load and cache it.
+     * The loader runs outside of the cache lock, null values are not cached.
+     * @param key key
+     * @param loader loader
+     * @return value
+     */
+    public V get(K key, Function<K, V> loader) {
+        V value = get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * put value.
+     * @param key key
+     * @param value value
+     */
+    public void put(K key, V value) {
+        if (maxSize <= 0) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, new CacheEntry<>(value, nanoClock.getAsLong() + timeToLive));
+        }
+    }
+
+    /**
+     * remove all entries.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * number of entries including expired but not yet evicted ones.
+     * @return size
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public CacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    private static final class CacheEntry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private CacheEntry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
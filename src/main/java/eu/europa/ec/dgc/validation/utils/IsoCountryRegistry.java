@@ -0,0 +1,66 @@
+package eu.europa.ec.dgc.validation.utils;
+
+import java.util.BitSet;
+import java.util.Locale;
+
+/**
+ * ISO 3166 alpha-2 country codes packed into a primitive index (26 * 26 slots) with a bitset for membership.
+ */
+public final class IsoCountryRegistry {
+    public static final int INDEX_SIZE = 26 * 26;
+    private static final int LETTERS = 26;
+    private static final BitSet COUNTRIES = new BitSet(INDEX_SIZE);
+
+    static {
+        for (String country : Locale.getISOCountries()) {
+            COUNTRIES.set(index(country));
+        }
+    }
+
+    private IsoCountryRegistry() {
+    }
+
+    /**
+     * index of an upper case two letter code.
+     * @param code code
+     * @return index or -1 if the code is not two upper case letters
+     */
+    public static int index(String code) {
+        if (code == null || code.length() != 2) {
+            return -1;
+        }
+        int c0 = code.charAt(0) - 'A';
+        int c1 = code.charAt(1) - 'A';
+        if (c0 < 0 || c0 >= LETTERS || c1 < 0 || c1 >= LETTERS) {
+            return -1;
+        }
+        return c0 * LETTERS + c1;
+    }
+
+    /**
+     * index of a two letter code ignoring case.
+     * @param code code
+     * @return index or -1 if the code is not two letters
+     */
+    public static int indexIgnoreCase(String code) {
+        if (code == null || code.length() != 2) {
+            return -1;
+        }
+        int c0 = (code.charAt(0) | 0x20) - 'a';
+        int c1 = (code.charAt(1) | 0x20) - 'a';
+        if (c0 < 0 || c0 >= LETTERS || c1 < 0 || c1 >= LETTERS) {
+            return -1;
+        }
+        return c0 * LETTERS + c1;
+    }
+
+    /**
+     * check for a known ISO country, codes are case sensitive like in Locale.getISOCountries().
+     * @param code code
+     * @return true if code is an ISO country
+     */
+    public static boolean isIsoCountry(String code) {
+        int index = index(code);
+        return index >= 0 && COUNTRIES.get(index);
+    }
+}
@@ -1,22 +1,36 @@
 package eu.europa.ec.dgc.validation;
 
+import eu.europa.ec.dgc.validation.cryptschemas.EcdhEsWithHkdfSha256AesGcm;
 import eu.europa.ec.dgc.validation.cryptschemas.EncryptedData;
 import eu.europa.ec.dgc.validation.cryptschemas.RsaOaepWithSha256AesCbc;
 import eu.europa.ec.dgc.validation.cryptschemas.RsaOaepWithSha256AesGcm;
+import eu.europa.ec.dgc.validation.exception.DccException;
 
+import java.nio.charset.StandardCharsets;
+import java.security.KeyFactory;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
+import java.security.PublicKey;
 import java.security.Security;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.X509EncodedKeySpec;
 import java.util.Random;
+import javax.crypto.Cipher;
+import javax.crypto.KeyAgreement;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
 
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class DccEncryptionExampleTest {
     RsaOaepWithSha256AesCbc dccCryptService = new RsaOaepWithSha256AesCbc();
     RsaOaepWithSha256AesGcm dccCryptService2 = new RsaOaepWithSha256AesGcm();
+    EcdhEsWithHkdfSha256AesGcm dccCryptService3 = new EcdhEsWithHkdfSha256AesGcm();
 
     @Test
     void dccEncryptionCBC() throws Exception {
@@ -53,4 +67,74 @@ class DccEncryptionExampleTest {
 
         assertArrayEquals(data, dataDecrypted);
     }
+
+    @Test
+    void dccEncryptionECDH() throws Exception {
+        KeyPairGenerator keyPairGen = KeyPairGenerator.getInstance("EC");
+        keyPairGen.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair keyPair = keyPairGen.generateKeyPair();
+
+        Random random = new Random();
+        byte[] data = new byte[2000];
+        random.nextBytes(data);
+        byte[] iv = {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0};
+        EncryptedData encryptedData = dccCryptService3.encryptData(data, keyPair.getPublic(), iv);
+        byte[] dataDecrypted = dccCryptService3.decryptData(encryptedData, keyPair.getPrivate(), iv);
+
+        assertArrayEquals(data, dataDecrypted);
+
+        KeyPair otherKeyPair = keyPairGen.generateKeyPair();
+        assertThrows(DccException.class,
+            () -> dccCryptService3.decryptData(encryptedData, otherKeyPair.getPrivate(), iv));
+    }
+
+    @Test
+    void dccEncryptionECDHRejectsEphemeralKeyOnOtherCurve() throws Exception {
+        KeyPairGenerator keyPairGen = KeyPairGenerator.getInstance("EC");
+        keyPairGen.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair keyPair = keyPairGen.generateKeyPair();
+        keyPairGen.initialize(new ECGenParameterSpec("secp384r1"));
+        KeyPair otherCurveKeyPair = keyPairGen.generateKeyPair();
+
+        byte[] iv = {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0};
+        EncryptedData encryptedData = dccCryptService3.encryptData(new byte[100], otherCurveKeyPair.getPublic(), iv);
+
+        assertThrows(DccException.class,
+            () -> dccCryptService3.decryptData(encryptedData, keyPair.getPrivate(), iv));
+    }
+
+    @Test
+    void dccEncryptionECDHWithPlainJca() throws Exception {
+        KeyPairGenerator keyPairGen = KeyPairGenerator.getInstance("EC");
+        keyPairGen.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair keyPair = keyPairGen.generateKeyPair();
+
+        Random random = new Random();
+        byte[] data = new byte[2000];
+        random.nextBytes(data);
+        byte[] iv = new byte[16];
+        random.nextBytes(iv);
+        EncryptedData encryptedData = dccCryptService3.encryptData(data, keyPair.getPublic(), iv);
+
+        // what a wallet does with the JCA only: ECDH, HKDF-SHA256 (RFC 5869), AES-GCM
+        PublicKey ephemeralKey = KeyFactory.getInstance("EC")
+            .generatePublic(new X509EncodedKeySpec(encryptedData.getEncKey()));
+        KeyAgreement keyAgreement = KeyAgreement.getInstance("ECDH");
+        keyAgreement.init(keyPair.getPrivate());
+        keyAgreement.doPhase(ephemeralKey, true);
+        byte[] sharedSecret = keyAgreement.generateSecret();
+
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(new byte[32], "HmacSHA256"));
+        byte[] prk = mac.doFinal(sharedSecret);
+        mac.init(new SecretKeySpec(prk, "HmacSHA256"));
+        mac.update(EcdhEsWithHkdfSha256AesGcm.ENC_SCHEMA.getBytes(StandardCharsets.US_ASCII));
+        mac.update(encryptedData.getEncKey());
+        mac.update((byte) 1);
+        byte[] aesKey = mac.doFinal();
+
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(aesKey, "AES"), new GCMParameterSpec(128, iv));
+        assertArrayEquals(data, cipher.doFinal(encryptedData.getDataEncrypted()));
+    }
 }
@@ -0,0 +1,217 @@
+package eu.europa.ec.dgc.validation.certlogic;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dgca.verifier.app.decoder.JsonSchemaKt;
+import dgca.verifier.app.engine.AffectedFieldsDataRetriever;
+import dgca.verifier.app.engine.CertLogicEngine;
+import dgca.verifier.app.engine.DefaultAffectedFieldsDataRetriever;
+import dgca.verifier.app.engine.DefaultCertLogicEngine;
+import dgca.verifier.app.engine.DefaultJsonLogicValidator;
+import dgca.verifier.app.engine.JsonLogicValidator;
+import dgca.verifier.app.engine.ValidationResult;
+import dgca.verifier.app.engine.data.CertificateType;
+import dgca.verifier.app.engine.data.ExternalParameter;
+import dgca.verifier.app.engine.data.Rule;
+import dgca.verifier.app.engine.data.source.remote.rules.RuleRemote;
+import dgca.verifier.app.engine.data.source.remote.rules.RuleRemoteMapperKt;
+import eu.ehn.dcc.certlogic.CertlogicKt;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class JsonLogicCompilerTest {
+    private static final List<String> RULES = List.of(
+        "{\"if\":[{\"var\":\"payload.v.0\"},{\"===\":[{\"var\":\"payload.v.0.tg\"},\"840539006\"]},true]}",
+        "{\"in\":[{\"var\":\"payload.v.0.mp\"},{\"var\":\"external.valueSets.vaccines-covid-19-names\"}]}",
+        "{\"in\":[{\"var\":\"payload.v.0.co\"},[\"DE\",\"UA\"]]}",
+        "{\"and\":[{\">=\":[{\"var\":\"payload.v.0.dn\"},1]},{\"<=\":[{\"var\":\"payload.v.0.dn\"},"
+            + "{\"var\":\"payload.v.0.sd\"}]}]}",
+        "{\"and\":[{\"var\":\"payload.r\"},{\"var\":\"payload.missing\"}]}",
+        "{\"!\":[{\"var\":\"payload.r\"}]}",
+        "{\"<\":[0,{\"+\":[{\"var\":\"payload.v.0.dn\"},1]},5]}",
+        "{\"===\":[{\"var\":\"payload.nam.fnt\"},\"SARAPULOV\"]}",
+        "{\"var\":\"payload.v.-1\"}",
+        "{\"var\":\"payload.v.0.dn.x\"}",
+        "{\"var\":\"\"}",
+        "{\"if\":[{\"var\":\"payload.v\"},{\"not-before\":[{\"plusTime\":[{\"var\":\"external.validationClock\"},0,"
+            + "\"day\"]},{\"plusTime\":[{\"var\":\"payload.v.0.dt\"},14,\"day\"]}]},false]}",
+        "{\">=\":[{\"var\":\"payload.v.0.dt\"},\"2021-06-01T00:00:00Z\"]}",
+        "{\">=\":[{\"var\":\"payload.v.0.dn\"},1]}");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private JsonNode data;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        objectMapper.registerModule(new JavaTimeModule());
+        ObjectNode node = objectMapper.createObjectNode();
+        try (InputStream hcert = getClass().getResourceAsStream("/hcert.json")) {
+            node.set("payload", objectMapper.readTree(hcert));
+        }
+        node.set("external", objectMapper.readTree("{\"validationClock\":\"2021-08-29T12:00:00Z\","
+            + "\"valueSets\":{\"vaccines-covid-19-names\":[\"EU/1/20/1528\",\"EU/1/20/1507\"]},"
+            + "\"countryCode\":\"DE\",\"issuerCountryCode\":\"DE\",\"kid\":\"kid\",\"region\":\"\"}"));
+        data = node;
+    }
+
+    @Test
+    void compiledOperations() throws Exception {
+        assertEquals("true", compiled(RULES.get(0)));
+        assertEquals("true", compiled(RULES.get(1)));
+        assertEquals("true", compiled(RULES.get(2)));
+        assertEquals("true", compiled(RULES.get(3)));
+        assertEquals("null", compiled(RULES.get(4)));
+        assertEquals("true", compiled(RULES.get(5)));
+        assertEquals("true", compiled(RULES.get(6)));
+        assertEquals("true", compiled(RULES.get(7)));
+        assertEquals("null", compiled(RULES.get(8)));
+        assertEquals("true", compiled(RULES.get(13)));
+        assertEquals("false", compiled("{\"if\":[[],1,{\"!\":[\"x\"]}]}"));
+    }
+
+    @Test
+    void compiledMatchesInterpreter() throws Exception {
+        for (String rule : RULES) {
+            JsonNode logic = objectMapper.readTree(rule);
+            assertEquals(outcome(() -> CertlogicKt.evaluate(logic, data)),
+                outcome(() -> JsonLogicCompiler.compile(logic).evaluate(data)), rule);
+            assertEquals(outcome(() -> CertlogicKt.evaluate(logic, data)),
+                outcome(() -> JsonLogicCompiler.compile(logic, data.path("external").path("valueSets"))
+                    .evaluate(data)), rule);
+        }
+    }
+
+    @Test
+    void foldValueSets() throws Exception {
+        JsonNode valueSets = data.path("external").path("valueSets");
+        JsonNode empty = objectMapper.createObjectNode();
+        JsonNode folded = objectMapper.readTree("{\"in\":[\"EU/1/20/1507\","
+            + "{\"var\":\"external.valueSets.vaccines-covid-19-names\"}]}");
+
+        assertEquals("true", JsonLogicCompiler.compile(folded, valueSets).evaluate(empty).toString());
+        assertEquals("true", JsonLogicCompiler.compile(objectMapper.readTree(RULES.get(1)), valueSets)
+            .evaluate(data).toString());
+        assertEquals("false", JsonLogicCompiler.compile(objectMapper.readTree(RULES.get(1)),
+            objectMapper.readTree("{\"vaccines-covid-19-names\":[\"EU/1/20/1528\"]}")).evaluate(data).toString());
+    }
+
+    @Test
+    void validatorEvaluatesCompiledLogic() throws Exception {
+        JsonLogicValidator fallback = mock(JsonLogicValidator.class);
+        doReturn(null).when(fallback).isDataValid(any(), any());
+        CompiledJsonLogicValidator validator = new CompiledJsonLogicValidator(fallback);
+        JsonNode logic = compiledLogic(RULES.get(3));
+
+        assertTrue(logic instanceof CompiledLogic);
+        assertEquals(objectMapper.readTree(RULES.get(3)), logic);
+        assertTrue(validator.isDataValid(logic, data));
+        assertEquals(1, validator.getCompiledEvaluations());
+        verify(fallback, never()).isDataValid(logic, data);
+
+        JsonNode nonBoolean = compiledLogic(RULES.get(8));
+        assertNull(validator.isDataValid(nonBoolean, data));
+        verify(fallback).isDataValid(nonBoolean, data);
+
+        JsonNode interpreted = objectMapper.readTree(RULES.get(3));
+        assertNull(validator.isDataValid(interpreted, data));
+        verify(fallback).isDataValid(interpreted, data);
+        assertEquals(2, validator.getFallbackEvaluations());
+    }
+
+    @Test
+    void engineResultsMatchInterpreter() throws Exception {
+        List<Rule> rules = new ArrayList<>();
+        rules.add(readRule("/rule.json"));
+        rules.add(readRule("/testrule.json"));
+        for (int i = 0; i < RULES.size(); i++) {
+            rules.add(withLogic(rules.get(1), "VR-DE-" + (i + 2), objectMapper.readTree(RULES.get(i))));
+        }
+        List<Rule> compiledRules = rules.stream().map(CompiledLogic::compile).collect(Collectors.toList());
+        String hcert;
+        try (InputStream hcertStream = getClass().getResourceAsStream("/hcert.json")) {
+            hcert = new String(hcertStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        Map<String, List<String>> valueSets = Map.of("vaccines-covid-19-names",
+            List.of("EU/1/20/1528", "EU/1/20/1507"));
+        List<Rule> specializedRules = rules.stream()
+            .map(rule -> CompiledLogic.compile(rule, objectMapper.valueToTree(valueSets)))
+            .collect(Collectors.toList());
+        ZonedDateTime validationClock = ZonedDateTime.parse("2021-08-29T12:00:00Z");
+        ExternalParameter externalParameter = new ExternalParameter(validationClock, valueSets, "DE",
+            validationClock.plusDays(300), validationClock.minusDays(60), "DE", "kid", "");
+        AffectedFieldsDataRetriever affectedFieldsDataRetriever = new DefaultAffectedFieldsDataRetriever(
+            objectMapper.readTree(JsonSchemaKt.JSON_SCHEMA_V1), objectMapper);
+        CertLogicEngine interpreter = new DefaultCertLogicEngine(affectedFieldsDataRetriever,
+            new DefaultJsonLogicValidator());
+        CertLogicEngine compiled = new DefaultCertLogicEngine(affectedFieldsDataRetriever,
+            new CompiledJsonLogicValidator(new DefaultJsonLogicValidator()));
+
+        List<ValidationResult> expected = interpreter.validate(CertificateType.VACCINATION, "1.0.0", rules,
+            externalParameter, hcert);
+        List<ValidationResult> actual = compiled.validate(CertificateType.VACCINATION, "1.0.0", compiledRules,
+            externalParameter, hcert);
+
+        List<ValidationResult> specialized = compiled.validate(CertificateType.VACCINATION, "1.0.0",
+            specializedRules, externalParameter, hcert);
+
+        assertEquals(rules.size(), expected.size());
+        assertEquals(outcomes(expected), outcomes(actual));
+        assertEquals(outcomes(expected), outcomes(specialized));
+    }
+
+    private JsonNode compiledLogic(String logic) throws Exception {
+        return CompiledLogic.compile(withLogic(readRule("/testrule.json"), "VR-DE-2", objectMapper.readTree(logic)))
+            .getLogic();
+    }
+
+    private Rule readRule(String resource) throws Exception {
+        try (InputStream rule = getClass().getResourceAsStream(resource)) {
+            return RuleRemoteMapperKt.toRule(objectMapper.readValue(rule, RuleRemote.class));
+        }
+    }
+
+    private static Rule withLogic(Rule rule, String identifier, JsonNode logic) {
+        return new Rule(identifier, rule.getType(), rule.getVersion(), rule.getSchemaVersion(), rule.getEngine(),
+            rule.getEngineVersion(), rule.getRuleCertificateType(), rule.getDescriptions(), rule.getValidFrom(),
+            rule.getValidTo(), rule.getAffectedString(), logic, rule.getCountryCode(), rule.getRegion());
+    }
+
+    /**
+     * comparable outcome of validation results, validation errors are compared by their messages.
+     */
+    private static List<String> outcomes(List<ValidationResult> results) {
+        List<String> outcomes = new ArrayList<>();
+        for (ValidationResult result : results) {
+            List<String> errors = result.getValidationErrors() == null ? null : result.getValidationErrors()
+                .stream().map(Exception::getMessage).collect(Collectors.toList());
+            outcomes.add(result.getRule().getIdentifier() + " " + result.getRule().getLogic() + " "
+                + result.getResult() + " " + result.getCurrent() + " " + errors);
+        }
+        return outcomes;
+    }
+
+    private String compiled(String rule) throws Exception {
+        return JsonLogicCompiler.compile(objectMapper.readTree(rule)).evaluate(data).toString();
+    }
+
+    private static Object outcome(java.util.function.Supplier<JsonNode> evaluation) {
+        try {
+            return evaluation.get();
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+}
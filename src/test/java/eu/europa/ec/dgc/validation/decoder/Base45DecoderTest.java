@@ -0,0 +1,49 @@
+package eu.europa.ec.dgc.validation.decoder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Base45DecoderTest {
+
+    @Test
+    void decodeRfcExamples() {
+        assertEquals("AB", decode("BB8"));
+        assertEquals("Hello!!", decode("%69 VD92EX0"));
+        assertEquals("base-45", decode("UJCLQE7W581"));
+        assertEquals("ietf!", decode("QED8WEX0"));
+        assertEquals("", decode(""));
+    }
+
+    @Test
+    void decodeSlice() {
+        byte[] src = "HC1:BB8".getBytes(StandardCharsets.US_ASCII);
+        byte[] target = new byte[2];
+        assertEquals(2, Base45Decoder.decode(src, 4, 3, target));
+        assertEquals("AB", new String(target, StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void rejectInvalidInput() {
+        assertNull(decode("GGW"));
+        assertNull(decode("ZZ"));
+        assertNull(decode("_??"));
+        assertNull(decode("abc"));
+        assertNull(decode("BB8B"));
+        assertEquals(-1, Base45Decoder.decodedLength(4));
+    }
+
+    private String decode(String base45) {
+        byte[] src = base45.getBytes(StandardCharsets.US_ASCII);
+        int length = Base45Decoder.decodedLength(src.length);
+        if (length < 0) {
+            return null;
+        }
+        byte[] target = new byte[length];
+        int decoded = Base45Decoder.decode(src, 0, src.length, target);
+        return decoded < 0 ? null : new String(Arrays.copyOf(target, decoded), StandardCharsets.US_ASCII);
+    }
+}
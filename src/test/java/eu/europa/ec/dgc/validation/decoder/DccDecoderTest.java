@@ -0,0 +1,112 @@
+package eu.europa.ec.dgc.validation.decoder;
+
+import dgca.verifier.app.decoder.model.VerificationResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.Deflater;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DccDecoderTest {
+    private static final String ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ $%*+-./:";
+
+    private final DccDecoder dccDecoder = new DccDecoder();
+
+    @Test
+    void decodeCompressedPayload() {
+        byte[] cose = new byte[20000];
+        new Random(42).nextBytes(cose);
+        VerificationResult verificationResult = new VerificationResult();
+
+        byte[] decoded = dccDecoder.decode(encode(deflate(cose)), verificationResult);
+
+        assertArrayEquals(cose, decoded);
+        assertEquals(DccDecoder.CONTEXT_PREFIX, verificationResult.getContextPrefix());
+        assertTrue(verificationResult.getBase45Decoded());
+        assertTrue(verificationResult.getZlibDecoded());
+    }
+
+    @Test
+    void rejectMissingPrefix() {
+        VerificationResult verificationResult = new VerificationResult();
+        assertNull(dccDecoder.decode("dccwrongprefix".getBytes(StandardCharsets.UTF_8), verificationResult));
+        assertNull(verificationResult.getContextPrefix());
+    }
+
+    @Test
+    void rejectInvalidBase45() {
+        VerificationResult verificationResult = new VerificationResult();
+        assertNull(dccDecoder.decode("HC1:_???".getBytes(StandardCharsets.UTF_8), verificationResult));
+        assertFalse(verificationResult.getBase45Decoded());
+    }
+
+    @Test
+    void rejectUncompressedPayload() {
+        VerificationResult verificationResult = new VerificationResult();
+        assertNull(dccDecoder.decode("HC1:Y69 VD82EEC8NWEO2".getBytes(StandardCharsets.UTF_8), verificationResult));
+        assertTrue(verificationResult.getBase45Decoded());
+        assertFalse(verificationResult.getZlibDecoded());
+    }
+
+    @Test
+    void rejectTruncatedZlibStream() {
+        byte[] compressed = deflate("truncated payload".getBytes(StandardCharsets.UTF_8));
+        byte[] truncated = java.util.Arrays.copyOf(compressed, compressed.length - 6);
+        VerificationResult verificationResult = new VerificationResult();
+        assertNull(dccDecoder.decode(encode(truncated), verificationResult));
+        assertFalse(verificationResult.getZlibDecoded());
+    }
+
+    @Test
+    void rejectOversizedExpansion() {
+        byte[] compressed = deflate(new byte[1024 * 1024]);
+        VerificationResult verificationResult = new VerificationResult();
+        assertNull(dccDecoder.decode(encode(compressed), verificationResult));
+        assertFalse(verificationResult.getZlibDecoded());
+
+        DccDecoder smallLimit = new DccDecoder(1000);
+        assertNull(smallLimit.decode(encode(deflate(new byte[1001])), new VerificationResult()));
+        assertNotNull(smallLimit.decode(encode(deflate(new byte[999])), new VerificationResult()));
+        assertEquals(1000, smallLimit.decode(encode(deflate(new byte[1000])), new VerificationResult()).length);
+    }
+
+    @Test
+    void reuseInflaterAcrossCalls() {
+        for (int i = 0; i < 5; i++) {
+            byte[] cose = ("cose message " + i).getBytes(StandardCharsets.UTF_8);
+            assertArrayEquals(cose, dccDecoder.decode(encode(deflate(cose)), new VerificationResult()));
+            assertNull(dccDecoder.decode("HC1:Y69 VD82EEC8NWEO2".getBytes(StandardCharsets.UTF_8),
+                new VerificationResult()));
+        }
+    }
+
+    static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        deflater.setInput(data);
+        deflater.finish();
+        byte[] buffer = new byte[data.length + 64];
+        int length = deflater.deflate(buffer);
+        deflater.end();
+        return java.util.Arrays.copyOf(buffer, length);
+    }
+
+    static byte[] encode(byte[] data) {
+        StringBuilder sb = new StringBuilder(DccDecoder.CONTEXT_PREFIX);
+        for (int i = 0; i < data.length; i += 2) {
+            if (i + 1 < data.length) {
+                int value = ((data[i] & 0xff) << 8) | (data[i + 1] & 0xff);
+                sb.append(ALPHABET.charAt(value % 45));
+                sb.append(ALPHABET.charAt(value / 45 % 45));
+                sb.append(ALPHABET.charAt(value / 45 / 45));
+            } else {
+                int value = data[i] & 0xff;
+                sb.append(ALPHABET.charAt(value % 45));
+                sb.append(ALPHABET.charAt(value / 45));
+            }
+        }
+        return sb.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+}
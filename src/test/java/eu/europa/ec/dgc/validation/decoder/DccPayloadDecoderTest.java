@@ -0,0 +1,91 @@
+package eu.europa.ec.dgc.validation.decoder;
+
+import com.upokecenter.cbor.CBORObject;
+import dgca.verifier.app.decoder.cbor.GreenCertificateData;
+import dgca.verifier.app.decoder.model.CertificateType;
+import dgca.verifier.app.decoder.model.VerificationResult;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DccPayloadDecoderTest {
+    private static final long ISSUED_AT = 1620000000L;
+    private static final long EXPIRATION = 1650000000L;
+
+    private final DccPayloadDecoder dccPayloadDecoder = new DccPayloadDecoder();
+
+    @Test
+    void decodePayloadOnce() {
+        DccPayload dccPayload = dccPayloadDecoder.decode(buildCwt().EncodeToBytes());
+
+        assertNotNull(dccPayload);
+        assertEquals("1.3.0", dccPayload.getHcert().get("ver").textValue());
+        assertEquals("MUSTERMANN", dccPayload.getHcert().get("nam").get("fnt").textValue());
+        assertTrue(dccPayload.getHcertJson().contains("\"dob\":\"1990-01-01\""));
+    }
+
+    @Test
+    void mapGreenCertificateData() {
+        VerificationResult verificationResult = new VerificationResult();
+        DccPayload dccPayload = dccPayloadDecoder.decode(buildCwt().EncodeToBytes());
+
+        GreenCertificateData greenCertificateData =
+            dccPayloadDecoder.toGreenCertificateData(dccPayload, verificationResult);
+
+        assertTrue(verificationResult.getCborDecoded());
+        assertEquals("DE", greenCertificateData.getIssuingCountry());
+        assertEquals(Instant.ofEpochSecond(ISSUED_AT), greenCertificateData.getIssuedAt().toInstant());
+        assertEquals(Instant.ofEpochSecond(EXPIRATION), greenCertificateData.getExpirationTime().toInstant());
+        assertEquals(CertificateType.VACCINATION, greenCertificateData.getGreenCertificate().getType());
+        assertEquals("1990-01-01", greenCertificateData.getGreenCertificate().getDateOfBirth());
+    }
+
+    @Test
+    void rejectPayloadWithoutHcert() {
+        CBORObject cwt = CBORObject.NewMap().Add(1, "DE");
+        assertNull(dccPayloadDecoder.decode(cwt.EncodeToBytes()));
+        assertNull(dccPayloadDecoder.decode(CBORObject.FromObject("no map").EncodeToBytes()));
+        assertNull(dccPayloadDecoder.decode(new byte[] {(byte) 0xff, 0x01}));
+    }
+
+    @Test
+    void rejectMissingClaims() {
+        VerificationResult verificationResult = new VerificationResult();
+        CBORObject cwt = buildCwt();
+        cwt.Remove(CBORObject.FromObject(6));
+        DccPayload dccPayload = dccPayloadDecoder.decode(cwt.EncodeToBytes());
+
+        assertNotNull(dccPayload);
+        assertNull(dccPayloadDecoder.toGreenCertificateData(dccPayload, verificationResult));
+        assertFalse(verificationResult.getCborDecoded());
+    }
+
+    private CBORObject buildCwt() {
+        CBORObject vaccination = CBORObject.NewMap()
+            .Add("tg", "840539006")
+            .Add("vp", "1119349007")
+            .Add("mp", "EU/1/20/1528")
+            .Add("ma", "ORG-100030215")
+            .Add("dn", 2)
+            .Add("sd", 2)
+            .Add("dt", "2021-04-21")
+            .Add("co", "DE")
+            .Add("is", "Robert Koch-Institut")
+            .Add("ci", "URN:UVCI:01DE/IZ12345A/5CWLU12RNOB9RXSEOP6FG8#W");
+        CBORObject dgc = CBORObject.NewMap()
+            .Add("ver", "1.3.0")
+            .Add("nam", CBORObject.NewMap()
+                .Add("fn", "Mustermann").Add("fnt", "MUSTERMANN")
+                .Add("gn", "Erika").Add("gnt", "ERIKA"))
+            .Add("dob", "1990-01-01")
+            .Add("v", CBORObject.NewArray().Add(vaccination));
+        return CBORObject.NewMap()
+            .Add(1, "DE")
+            .Add(4, EXPIRATION)
+            .Add(6, ISSUED_AT)
+            .Add(-260, CBORObject.NewMap().Add(1, dgc));
+    }
+}
@@ -0,0 +1,50 @@
+package eu.europa.ec.dgc.validation.decoder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dgca.verifier.app.decoder.model.VerificationResult;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DccSchemaValidatorTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void versionFamily() throws Exception {
+        assertEquals("1.3", DccSchemaValidator.versionFamily(hcert("{\"ver\":\"1.3.0\"}")));
+        assertEquals("1.0", DccSchemaValidator.versionFamily(hcert("{\"ver\":\"1.0.4\"}")));
+        assertEquals("1.0", DccSchemaValidator.versionFamily(hcert("{\"ver\":\"01.00\"}")));
+        assertEquals(DccSchemaValidator.DEFAULT_VERSION, DccSchemaValidator.versionFamily(hcert("{\"ver\":1}")));
+        assertEquals(DccSchemaValidator.DEFAULT_VERSION, DccSchemaValidator.versionFamily(hcert("{\"ver\":\"x.y\"}")));
+        assertEquals(DccSchemaValidator.DEFAULT_VERSION, DccSchemaValidator.versionFamily(hcert("{}")));
+    }
+
+    @Test
+    void compileOncePerVersionFamily() throws Exception {
+        DccSchemaValidator dccSchemaValidator = new DccSchemaValidator();
+        JsonNode hcert = objectMapper.readTree(getClass().getResourceAsStream("/hcert.json"));
+
+        for (int i = 0; i < 3; i++) {
+            dccSchemaValidator.validate(hcert, new VerificationResult());
+        }
+
+        assertEquals(1, dccSchemaValidator.getVersionFamilies());
+        assertEquals(1, dccSchemaValidator.getStatistics().getMisses());
+        assertEquals(2, dccSchemaValidator.getStatistics().getHits());
+    }
+
+    @Test
+    void rejectInvalidHcert() throws Exception {
+        DccSchemaValidator dccSchemaValidator = new DccSchemaValidator();
+        VerificationResult verificationResult = new VerificationResult();
+
+        assertFalse(dccSchemaValidator.validate(hcert("{\"ver\":\"1.3.0\",\"dob\":42}"), verificationResult));
+        assertFalse(verificationResult.isSchemaValid());
+    }
+
+    private JsonNode hcert(String json) throws Exception {
+        return objectMapper.readTree(json);
+    }
+}
@@ -0,0 +1,72 @@
+package eu.europa.ec.dgc.validation.pipeline;
+
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenConditions;
+import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenType;
+import eu.europa.ec.dgc.validation.restapi.dto.ValidationStatusResponse;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StageExecutorTest {
+    private StageExecutor stageExecutor;
+
+    @AfterEach
+    void shutdown() {
+        if (stageExecutor != null) {
+            stageExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void disabledByDefault() {
+        stageExecutor = new StageExecutor(new DgcConfigProperties());
+        assertFalse(stageExecutor.isEnabled());
+    }
+
+    @Test
+    void mergeResultsInDeclarationOrder() {
+        DgcConfigProperties dgcConfigProperties = new DgcConfigProperties();
+        dgcConfigProperties.getParallelValidation().setEnabled(true);
+        stageExecutor = new StageExecutor(dgcConfigProperties);
+        CountDownLatch bothRunning = new CountDownLatch(2);
+
+        ValidationStage parallel = stageExecutor.parallel("both",
+            stage("first", CostClass.EXPENSIVE, bothRunning),
+            stage("second", CostClass.CHEAP, bothRunning));
+        ValidationContext context = new ValidationContext(new byte[0], new AccessTokenConditions(),
+            AccessTokenType.Full, false, Locale.ENGLISH);
+
+        assertEquals(StageResult.CONTINUE, parallel.apply(context));
+        assertEquals(CostClass.EXPENSIVE, parallel.getCostClass());
+        assertEquals(List.of("first-1", "first-2", "second-1", "second-2"), context.getResults().stream()
+            .map(ValidationStatusResponse.Result::getIdentifier).collect(Collectors.toList()));
+    }
+
+    private static ValidationStage stage(String name, CostClass costClass, CountDownLatch bothRunning) {
+        return ValidationStage.of(name, costClass, context -> {
+            addResult(context, name + "-1");
+            bothRunning.countDown();
+            try {
+                assertTrue(bothRunning.await(10, TimeUnit.SECONDS), "stages did not overlap");
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            addResult(context, name + "-2");
+            return StageResult.CONTINUE;
+        });
+    }
+
+    private static void addResult(ValidationContext context, String identifier) {
+        ValidationStatusResponse.Result result = new ValidationStatusResponse.Result();
+        result.setIdentifier(identifier);
+        context.getResults().add(result);
+    }
+}
@@ -0,0 +1,44 @@
+package eu.europa.ec.dgc.validation.pipeline;
+
+import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenConditions;
+import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationPipelineTest {
+
+    @Test
+    void runStagesInOrderUntilShortCircuit() {
+        List<String> executed = new ArrayList<>();
+        ValidationPipeline pipeline = new ValidationPipeline(List.of(
+            stage("first", StageResult.CONTINUE, executed),
+            stage("second", StageResult.STOP, executed),
+            stage("third", StageResult.CONTINUE, executed)));
+
+        pipeline.run(context());
+        pipeline.run(context());
+
+        assertEquals(List.of("first", "second", "first", "second"), executed);
+        assertEquals(2, pipeline.getStatistics().get("first").getInvocations());
+        assertEquals(0, pipeline.getStatistics().get("first").getShortCircuits());
+        assertEquals(2, pipeline.getStatistics().get("second").getShortCircuits());
+        assertEquals(0, pipeline.getStatistics().get("third").getInvocations());
+    }
+
+    private static ValidationStage stage(String name, StageResult stageResult, List<String> executed) {
+        return ValidationStage.of(name, CostClass.CHEAP, context -> {
+            executed.add(name);
+            return stageResult;
+        });
+    }
+
+    private static ValidationContext context() {
+        return new ValidationContext(new byte[0], new AccessTokenConditions(), AccessTokenType.Full, false,
+            Locale.ENGLISH);
+    }
+}
@@ -0,0 +1,85 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenConditions;
+import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenPayload;
+import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenType;
+import eu.europa.ec.dgc.validation.token.AccessTokenBuilder;
+import eu.europa.ec.dgc.validation.token.AccessTokenParser;
+import java.security.PublicKey;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class AccessTokenVerifierTest {
+    private static final String KID = "kid-junit";
+
+    private AccessTokenParser accessTokenParser;
+    private AccessTokenKeyProvider accessTokenKeyProvider;
+    private AccessTokenVerifier accessTokenVerifier;
+    private PublicKey publicKey;
+    private String accessToken;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        accessTokenParser = spy(new AccessTokenParser());
+        accessTokenKeyProvider = mock(AccessTokenKeyProvider.class);
+        publicKey = ValidationServiceTest.parsePublicKey(ValidationServiceTest.EC_PUBLIC_KEY);
+        when(accessTokenKeyProvider.getPublicKey(KID)).thenReturn(publicKey);
+        accessTokenVerifier = new AccessTokenVerifier(accessTokenParser, accessTokenKeyProvider,
+            new DgcConfigProperties());
+
+        AccessTokenPayload accessTokenPayload = new AccessTokenPayload();
+        accessTokenPayload.setSub("sub");
+        accessTokenPayload.setIss("iss");
+        accessTokenPayload.setType(AccessTokenType.Cryptographic.intValue());
+        accessTokenPayload.setVersion("1.0");
+        accessTokenPayload.setJti("jti");
+        accessTokenPayload.setIat(Instant.now().getEpochSecond());
+        accessTokenPayload.setExp(Instant.now().getEpochSecond() + 60 * 60);
+        AccessTokenConditions accessTokenConditions = new AccessTokenConditions();
+        accessTokenConditions.setValidationClock("2021-01-29T12:00:00+01:00");
+        accessTokenConditions.setValidFrom("2021-01-29T12:00:00+01:00");
+        accessTokenConditions.setValidTo("2021-01-30T12:00:00+01:00");
+        accessTokenPayload.setConditions(accessTokenConditions);
+        accessToken = new AccessTokenBuilder().payload(accessTokenPayload)
+            .build(ValidationServiceTest.parsePrivateKey(ValidationServiceTest.EC_PRIVATE_KEY), KID);
+    }
+
+    @Test
+    void verifiedTokenIsCached() {
+        AccessTokenPayload payload = accessTokenVerifier.verify(accessToken);
+        assertNotNull(payload);
+        assertEquals("sub", payload.getSub());
+        assertEquals(ZonedDateTime.parse("2021-01-30T12:00:00+01:00"), payload.getConditions().getValidToTime());
+
+        assertSame(payload, accessTokenVerifier.verify(accessToken));
+        verify(accessTokenParser, times(1)).verifyToken(anyString(), anyString(), any());
+        assertEquals(1, accessTokenVerifier.getStatistics().getHits());
+    }
+
+    @Test
+    void keyChangeInvalidatesCachedToken() throws Exception {
+        assertNotNull(accessTokenVerifier.verify(accessToken));
+
+        PublicKey otherKey = ValidationServiceTest.parsePublicKey(ValidationServiceTest.EC_PUBLIC_KEY);
+        when(accessTokenKeyProvider.getPublicKey(KID)).thenReturn(otherKey);
+        assertNotNull(accessTokenVerifier.verify(accessToken));
+        verify(accessTokenParser, times(2)).verifyToken(anyString(), anyString(), any());
+    }
+
+    @Test
+    void invalidTokenIsRejected() {
+        String[] parts = accessToken.split("\\.");
+        String tampered = parts[0] + "." + parts[1] + "." + parts[2].substring(0, parts[2].length() - 4) + "AAAA";
+        assertNull(accessTokenVerifier.verify(tampered));
+        assertNull(accessTokenVerifier.verify("not a token"));
+        assertEquals(0, accessTokenVerifier.size());
+    }
+}
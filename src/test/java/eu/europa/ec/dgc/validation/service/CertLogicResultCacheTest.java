@@ -0,0 +1,54 @@
+package eu.europa.ec.dgc.validation.service;
+
+import dgca.verifier.app.engine.ValidationResult;
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CertLogicResultCacheTest {
+    private static final ZonedDateTime CLOCK = ZonedDateTime.parse("2021-06-01T10:00:00Z");
+
+    private final CertLogicResultCache cache = new CertLogicResultCache(new DgcConfigProperties());
+    private final AtomicInteger evaluations = new AtomicInteger();
+
+    @Test
+    void evaluateOncePerKey() {
+        evaluate(1, 1, "{\"ver\":\"1.0.0\"}", CLOCK);
+        evaluate(1, 1, "{\"ver\":\"1.0.0\"}", CLOCK);
+        assertEquals(1, evaluations.get());
+
+        evaluate(1, 1, "{\"ver\":\"1.0.1\"}", CLOCK);
+        evaluate(1, 1, "{\"ver\":\"1.0.0\"}", CLOCK.plusSeconds(1));
+        assertEquals(3, evaluations.get());
+        assertEquals(1, cache.getStatistics().getHits());
+    }
+
+    @Test
+    void dropEntriesOnNewVersion() {
+        evaluate(1, 1, "{}", CLOCK);
+        evaluate(1, 2, "{}", CLOCK);
+        assertEquals(1, cache.size());
+        evaluate(2, 2, "{}", CLOCK);
+        assertEquals(1, cache.size());
+
+        evaluate(1, 1, "{}", CLOCK);
+        evaluate(1, 1, "{}", CLOCK);
+        assertEquals(5, evaluations.get());
+        assertEquals(1, cache.size());
+    }
+
+    private List<ValidationResult> evaluate(long rulesVersion, long valueSetsVersion, String hcert,
+                                            ZonedDateTime clock) {
+        CertLogicResultCache.Key key = cache.key(rulesVersion, valueSetsVersion, hcert, "kid", "DE",
+            CLOCK.plusYears(1), CLOCK.minusDays(1), clock, "DE", null);
+        return cache.get(key, () -> {
+            evaluations.incrementAndGet();
+            return new ArrayList<>();
+        });
+    }
+}
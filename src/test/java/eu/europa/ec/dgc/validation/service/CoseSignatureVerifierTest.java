@@ -0,0 +1,97 @@
+package eu.europa.ec.dgc.validation.service;
+
+import com.upokecenter.cbor.CBORObject;
+import dgca.verifier.app.decoder.cose.CryptoService;
+import dgca.verifier.app.decoder.model.VerificationResult;
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.utils.DccSignTestKey;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.params.ECPrivateKeyParameters;
+import org.bouncycastle.crypto.signers.ECDSASigner;
+import org.bouncycastle.jcajce.provider.asymmetric.util.ECUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class CoseSignatureVerifierTest {
+    private CryptoService fallback;
+    private CoseSignatureVerifier coseSignatureVerifier;
+    private Certificate certificate;
+    private PrivateKey privateKey;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        certificate = DccSignTestKey.certificate();
+        privateKey = DccSignTestKey.privateKey();
+        fallback = mock(CryptoService.class);
+        coseSignatureVerifier = new CoseSignatureVerifier(fallback, new DgcConfigProperties.CacheConfig());
+    }
+
+    @Test
+    void verifyEs256Directly() throws Exception {
+        byte[] payload = "{\"test\":1}".getBytes(StandardCharsets.UTF_8);
+        byte[] cose = sign(-7, payload);
+
+        VerificationResult verificationResult = new VerificationResult();
+        coseSignatureVerifier.validate(cose, certificate, verificationResult);
+        assertTrue(verificationResult.getCoseVerified());
+
+        CBORObject tampered = CBORObject.DecodeFromBytes(cose);
+        tampered.UntagOne().set(2, CBORObject.FromObject("{\"test\":2}".getBytes(StandardCharsets.UTF_8)));
+        verificationResult = new VerificationResult();
+        coseSignatureVerifier.validate(tampered.EncodeToBytes(), certificate, verificationResult);
+        assertFalse(verificationResult.getCoseVerified());
+
+        verify(fallback, never()).validate(any(), any(), any());
+        assertEquals(2, coseSignatureVerifier.getDirectVerifications());
+        assertEquals(1, coseSignatureVerifier.getSignerKeys());
+        assertEquals(1, coseSignatureVerifier.getSignerKeyStatistics().getHits());
+    }
+
+    @Test
+    void unsupportedAlgorithmUsesFallback() throws Exception {
+        byte[] cose = sign(-37, new byte[] {1, 2, 3});
+
+        coseSignatureVerifier.validate(cose, certificate, new VerificationResult());
+        coseSignatureVerifier.validate(new byte[] {0x01}, certificate, new VerificationResult());
+
+        verify(fallback, times(2)).validate(any(), any(), any());
+        assertEquals(2, coseSignatureVerifier.getFallbackVerifications());
+        assertEquals(0, coseSignatureVerifier.getDirectVerifications());
+    }
+
+    private byte[] sign(int algorithm, byte[] payload) throws Exception {
+        CBORObject protectedHeader = CBORObject.NewMap().Add(1, algorithm);
+        byte[] protectedBytes = protectedHeader.EncodeToBytes();
+        byte[] toBeSigned = CBORObject.NewArray().Add("Signature1").Add(protectedBytes).Add(new byte[0])
+            .Add(payload).EncodeToBytes();
+        SHA256Digest digest = new SHA256Digest();
+        byte[] hash = new byte[digest.getDigestSize()];
+        digest.update(toBeSigned, 0, toBeSigned.length);
+        digest.doFinal(hash, 0);
+        ECDSASigner signer = new ECDSASigner();
+        signer.init(true, (ECPrivateKeyParameters) ECUtil.generatePrivateKeyParameter(privateKey));
+        BigInteger[] rs = signer.generateSignature(hash);
+        byte[] signature = new byte[64];
+        copyUnsigned(rs[0], signature, 0);
+        copyUnsigned(rs[1], signature, 32);
+        return CBORObject.FromObjectAndTag(CBORObject.NewArray().Add(protectedBytes).Add(CBORObject.NewMap())
+            .Add(payload).Add(signature), 18).EncodeToBytes();
+    }
+
+    private static void copyUnsigned(BigInteger value, byte[] target, int offset) {
+        byte[] bytes = value.toByteArray();
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, target, offset + 32 - length, length);
+    }
+}
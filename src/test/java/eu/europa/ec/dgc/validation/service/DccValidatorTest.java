@@ -34,8 +34,11 @@ import dgca.verifier.app.engine.data.RuleCertificateType;
 import dgca.verifier.app.engine.data.Type;
 import dgca.verifier.app.engine.data.ValueSet;
 import eu.europa.ec.dgc.utils.CertificateUtils;
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.decoder.DccDecoder;
 import eu.europa.ec.dgc.validation.entity.BusinessRuleEntity;
 import eu.europa.ec.dgc.validation.entity.ValueSetEntity;
+import eu.europa.ec.dgc.validation.pipeline.StageExecutor;
 import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenConditions;
 import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenType;
 import eu.europa.ec.dgc.validation.restapi.dto.BusinessRuleListItemDto;
@@ -60,6 +63,7 @@ import java.security.KeyStore;
 import java.security.cert.Certificate;
 import java.security.cert.X509Certificate;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 
 import liquibase.pro.packaged.C;
@@ -102,12 +106,17 @@ class DccValidatorTest {
         JsonLogicValidator jsonLogicValidator = new DefaultJsonLogicValidator();
         certLogicEngine = new DefaultCertLogicEngine(affectedFieldsDataRetriever, jsonLogicValidator);
         ValueSetCache valueSetCache = new DgcgValueSetCache(objectMapper, valueSetService);
-        RulesCache rulesCache = new DgcgRulesCache(businessRuleService, objectMapper);
+        RulesCache rulesCache = new DgcgRulesCache(businessRuleService, objectMapper, new DgcConfigProperties());
         ResourceBundleMessageSource source = new ResourceBundleMessageSource();
         source.setBasenames("messages/dcc");
         source.setUseCodeAsDefaultMessage(true);
-        dccValidator = new DccValidator(signerInformationService, certLogicEngine, certificateUtils, valueSetCache, rulesCache, source);
+        dccValidator = new DccValidator(signerInformationService, certLogicEngine, certificateUtils, valueSetCache, rulesCache,
+            new ValidationMessageTable(source),
+            new DecodedDccCache(new DgcConfigProperties()), new CertLogicResultCache(new DgcConfigProperties()),
+            new StageExecutor(new DgcConfigProperties()), new CoseSignatureVerifier(new DgcConfigProperties()),
+            new VerifiedSignatureCache(new DgcConfigProperties()), new DccDecoder());
         dccValidator.initMapper();
+        dccValidator.initPipelines();
     }
 
     @Test
@@ -308,6 +317,45 @@ class DccValidatorTest {
         Assert.isTrue(results.size() == 0);
     }
 
+    @Test
+    void testGeneralRulesWithoutRegionOfArrival() {
+        VerificationResult result = new VerificationResult();
+        List<ValidationStatusResponse.Result> results = new ArrayList<>();
+        AccessTokenConditions accessTokenConditions = new AccessTokenConditions();
+        accessTokenConditions.setCoa("DE");
+        accessTokenConditions.setRoa("");
+        accessTokenConditions.setValidationClock(ZonedDateTime.now().minusDays(1)
+            .format(DateTimeFormatter.ISO_OFFSET_DATE_TIME));
+        Person p = new Person("WURST", "Wurst", "HANS", "Hans");
+        List<Vaccination> vacs = new ArrayList<>();
+        vacs.add(new Vaccination("", "", "", "", 1, 2, "", "", "", ""));
+        GreenCertificate certificate = new GreenCertificate("1.0.0", p, "10-10-2020", vacs, null, null);
+        GreenCertificateData data = new GreenCertificateData("DE", "{}", certificate,
+            ZonedDateTime.now().minusDays(100), ZonedDateTime.now().plusDays(250));
+        List<Rule> rules = new ArrayList<>();
+        rules.add(rule("GR-DE-0001", RuleCertificateType.GENERAL, null));
+        rules.add(rule("VR-DE-0001", RuleCertificateType.VACCINATION, null));
+        rules.add(rule("VR-DE-BY-0001", RuleCertificateType.VACCINATION, "BY"));
+
+        RulesCache rulesCache = new BusinessRulesCacheMock(rules);
+        ValueSetCache cache = new ValueSetCacheMock(new HashMap<>());
+        dccValidator.validateRules(data, result, results, accessTokenConditions, new byte[0], rulesCache, cache,
+            Locale.ENGLISH);
+
+        // general rules are evaluated, regional rules are skipped if no region of arrival is given
+        assertEquals(2, results.size());
+        assertEquals("GR-DE-0001", results.get(0).getIdentifier());
+        assertEquals(ResultTypeIdentifier.TravellerAcceptance, results.get(0).getType());
+        assertEquals("VR-DE-0001", results.get(1).getIdentifier());
+        assertEquals(ResultTypeIdentifier.DestinationAcceptance, results.get(1).getType());
+    }
+
+    private static Rule rule(String identifier, RuleCertificateType ruleCertificateType, String region) {
+        return new Rule(identifier, Type.ACCEPTANCE, "1.0.0", "1.0.0", "CERTLOGIC", "0.7.5", ruleCertificateType,
+            new HashMap<>(), ZonedDateTime.now().minusDays(400), ZonedDateTime.now().plusDays(500),
+            new ArrayList<>(), new TextNode("{}"), "DE", region);
+    }
+
     @Test
     void testConcurrentBusinessRule() throws JSONException, JsonProcessingException {
         VerificationResult result = new VerificationResult();
@@ -437,7 +485,9 @@ class DccValidatorTest {
         businessRuleEntity.setVersion("1.0.0");
         businessRuleEntity.setRawData(Files.readString(Path.of("src/test/resources/testrule.json")));
         doReturn(ruleListItemDtos).when(businessRuleService).getBusinessRulesListForCountry(anyString(), anyString());
+        doReturn(ruleListItemDtos).when(businessRuleService).getBusinessRulesList();
         doReturn(businessRuleEntity).when(businessRuleService).getBusinessRuleByCountryAndHash(anyString(), anyString());
+        doReturn(List.of(businessRuleEntity)).when(businessRuleService).getBusinessRulesByHashes(any());
     }
 
     private void mockValueSets() throws IOException {
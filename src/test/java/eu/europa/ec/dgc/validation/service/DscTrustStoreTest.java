@@ -0,0 +1,108 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.entity.SignerInformationEntity;
+import eu.europa.ec.dgc.validation.repository.SignerInformationRepository;
+import eu.europa.ec.dgc.validation.restapi.dto.KidDto;
+import eu.europa.ec.dgc.validation.utils.DccSignTestKey;
+import java.security.cert.Certificate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class DscTrustStoreTest {
+    private static final String KID = "8xYtW2837fc=";
+    private SignerInformationRepository signerInformationRepository;
+    private DscTrustStore dscTrustStore;
+    private Certificate certificate;
+    private final List<SignerInformationEntity> stored = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        certificate = DccSignTestKey.certificate();
+        signerInformationRepository = mock(SignerInformationRepository.class);
+        doAnswer(invocation -> new ArrayList<>(stored)).when(signerInformationRepository).findAll();
+        doAnswer(invocation -> stored.stream().map(entity -> new KidDto(entity.getKid()))
+            .collect(Collectors.toList())).when(signerInformationRepository).findAllByOrderByIdAsc();
+        doReturn(List.of()).when(signerInformationRepository).findAllByKid("AAAAAAAAAAA=");
+        dscTrustStore = new DscTrustStore(signerInformationRepository, new DgcConfigProperties());
+    }
+
+    @Test
+    void lookupWithoutDatabase() throws Exception {
+        store(KID);
+        store("not-base64-kid");
+
+        assertEquals(List.of(certificate), dscTrustStore.getCertificates(KID));
+        assertEquals(List.of(certificate), dscTrustStore.getCertificates("not-base64-kid"));
+        assertEquals(List.of(), dscTrustStore.getCertificates("AAAAAAAAAAA="));
+        assertEquals(2, dscTrustStore.size());
+        assertEquals(2, dscTrustStore.getHits());
+        assertEquals(1, dscTrustStore.getMisses());
+        assertTrue(dscTrustStore.getMemoryFootprint() > certificate.getEncoded().length * 8L);
+        verify(signerInformationRepository, times(1)).findAll();
+        verify(signerInformationRepository, never()).findAllByKid(KID);
+    }
+
+    @Test
+    void rebuildWhenKidsChanged() throws Exception {
+        store(KID);
+        dscTrustStore.getCertificates(KID);
+        dscTrustStore.refresh();
+        assertEquals(1, dscTrustStore.getRebuilds());
+
+        store("AAAAAAAAAAA=");
+        dscTrustStore.onTrustListUpdated(new TrustListUpdatedEvent());
+        assertEquals(2, dscTrustStore.getRebuilds());
+        assertEquals(List.of(certificate), dscTrustStore.getCertificates("AAAAAAAAAAA="));
+        assertEquals(List.of(), dscTrustStore.getCertificates("AAAAAAAAAAA"));
+    }
+
+    @Test
+    void keepIndexWithUnparsableCertificate() throws Exception {
+        store(KID);
+        stored.add(new SignerInformationEntity((long) stored.size(), "AAAAAAAAAAA=", ZonedDateTime.now(), "broken"));
+
+        assertEquals(List.of(certificate), dscTrustStore.getCertificates(KID));
+        dscTrustStore.refresh();
+        dscTrustStore.refresh();
+        assertEquals(1, dscTrustStore.getRebuilds());
+        assertEquals(1, dscTrustStore.getVersion());
+        assertEquals(1, dscTrustStore.size());
+        assertEquals(List.of(), dscTrustStore.getCertificates("AAAAAAAAAAA="));
+    }
+
+    @Test
+    void rememberUnknownKidsUntilRebuild() throws Exception {
+        store(KID);
+        assertEquals(List.of(), dscTrustStore.getCertificates("AAAAAAAAAAA="));
+        assertEquals(List.of(), dscTrustStore.getCertificates("AAAAAAAAAAA="));
+        assertEquals(List.of(), dscTrustStore.getCertificates("AAAAAAAAAAA="));
+        verify(signerInformationRepository, times(1)).findAllByKid("AAAAAAAAAAA=");
+        assertEquals(1, dscTrustStore.getDatabaseLookups());
+        assertEquals(2, dscTrustStore.getUnknownKidStatistics().getHits());
+        assertEquals(1, dscTrustStore.getUnknownKids());
+
+        store("AAAAAAAAAAA=");
+        dscTrustStore.onTrustListUpdated(new TrustListUpdatedEvent());
+        assertEquals(0, dscTrustStore.getUnknownKids());
+        assertEquals(List.of(certificate), dscTrustStore.getCertificates("AAAAAAAAAAA="));
+    }
+
+    private void store(String kid) throws Exception {
+        stored.add(new SignerInformationEntity((long) stored.size(), kid, ZonedDateTime.now(),
+            Base64.getEncoder().encodeToString(certificate.getEncoded())));
+    }
+}
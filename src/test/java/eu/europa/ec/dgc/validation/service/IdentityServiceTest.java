@@ -1,6 +1,8 @@
 package eu.europa.ec.dgc.validation.service;
 
 import eu.europa.ec.dgc.validation.restapi.dto.IdentityResponse;
+import eu.europa.ec.dgc.validation.restapi.dto.VerificationMethod;
+import java.util.Arrays;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,11 +15,42 @@ import static org.junit.jupiter.api.Assertions.*;
 class IdentityServiceTest {
     @Autowired
     IdentityService identityService;
+    @Autowired
+    KeyProvider keyProvider;
 
     @Test
     void testIdentity() throws Exception {
         IdentityResponse identity = identityService.getIdentity(null, null);
         assertNotNull(identity);
-        assertEquals(4, identity.getVerificationMethod().size());
+        assertEquals(6, identity.getVerificationMethod().size());
+    }
+
+    @Test
+    void testEcdhSchemeListsEcEncryptionKey() throws Exception {
+        IdentityResponse identity = identityService.getIdentity(null, null);
+        VerificationMethod scheme = identity.getVerificationMethod().stream()
+            .filter(vm -> vm.getId().endsWith("#ValidationServiceEncScheme-ECDHESWithHKDFSHA256AESGCM"))
+            .findFirst().orElseThrow();
+        assertEquals(1, scheme.getVerificationMethods().length);
+
+        VerificationMethod key = identity.getVerificationMethod().stream()
+            .filter(vm -> vm.getId().equals(scheme.getVerificationMethods()[0]))
+            .findFirst().orElseThrow();
+        assertEquals("enc", key.getPublicKeyJwk().getUse());
+        assertEquals("ES256", key.getPublicKeyJwk().getAlg());
+        assertEquals(keyProvider.getKid("ValidationServiceEncKey-2"), key.getPublicKeyJwk().getKid());
+    }
+
+    @Test
+    void testSchemesOnlyListKeysOfTheirFamily() throws Exception {
+        IdentityResponse identity = identityService.getIdentity("verificationMethod", "DccEncryptionScheme2021");
+        assertEquals(3, identity.getVerificationMethod().size());
+        for (VerificationMethod scheme : identity.getVerificationMethod()) {
+            assertTrue(scheme.getVerificationMethods().length > 0, scheme.getId());
+            boolean ec = scheme.getId().contains("#ValidationServiceEncScheme-EC");
+            assertTrue(Arrays.stream(scheme.getVerificationMethods())
+                .allMatch(id -> id.endsWith(ec ? "#ValidationServiceEncKey-2" : "#ValidationServiceEncKey-1")),
+                scheme.getId());
+        }
     }
-}
\ No newline at end of file
+}
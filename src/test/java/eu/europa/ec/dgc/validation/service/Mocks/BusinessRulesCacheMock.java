@@ -1,23 +1,33 @@
 package eu.europa.ec.dgc.validation.service.Mocks;
 
+import java.time.ZonedDateTime;
 import java.util.List;
 
 import dgca.verifier.app.engine.data.Rule;
+import dgca.verifier.app.engine.data.RuleCertificateType;
+import eu.europa.ec.dgc.validation.service.ApplicableRules;
+import eu.europa.ec.dgc.validation.service.RuleIndex;
 import eu.europa.ec.dgc.validation.service.RulesCache;
+import eu.europa.ec.dgc.validation.service.ValueSetSnapshot;
 
 public class BusinessRulesCacheMock implements RulesCache {
 
-    private List<Rule> rules;
+    private final RuleIndex ruleIndex;
 
     public BusinessRulesCacheMock(List<Rule> rules) {
-        this.rules = rules;
+        this.ruleIndex = RuleIndex.of(rules);
     }
 
     @Override
-    public List<Rule> provideRules(String countryOfArrival, String issuerCountry) {
-        // TODO Auto-generated method stub
-        return rules;
+    public ApplicableRules provideApplicableRules(String countryOfArrival, String regionOfArrival, String issuerCountry,
+                                             RuleCertificateType certificateType, ZonedDateTime validationClock,
+                                             ValueSetSnapshot valueSets) {
+        return new ApplicableRules(getVersion(), ruleIndex.applicableRules(countryOfArrival, regionOfArrival,
+            issuerCountry, certificateType, validationClock, valueSets));
     }
 
-
+    @Override
+    public long getVersion() {
+        return 0;
+    }
 }
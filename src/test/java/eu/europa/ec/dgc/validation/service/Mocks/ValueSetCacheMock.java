@@ -22,4 +22,9 @@ public class ValueSetCacheMock implements ValueSetCache {
     public Map<String, List<String>> getValueSets() {
         return valueSets;
     }
+
+    @Override
+    public long getVersion() {
+        return 0;
+    }
 }
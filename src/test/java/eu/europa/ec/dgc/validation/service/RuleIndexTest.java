@@ -0,0 +1,147 @@
+package eu.europa.ec.dgc.validation.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import dgca.verifier.app.engine.data.Rule;
+import dgca.verifier.app.engine.data.RuleCertificateType;
+import dgca.verifier.app.engine.data.Type;
+import eu.europa.ec.dgc.validation.certlogic.CompiledLogic;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleIndexTest {
+    private static final ZonedDateTime CLOCK = ZonedDateTime.parse("2021-08-29T12:00:00+01:00");
+
+    @Test
+    void selectByCountryTypeCertificateTypeAndRegion() {
+        RuleIndex ruleIndex = RuleIndex.of(List.of(
+            rule("GR-DE-1", Type.ACCEPTANCE, RuleCertificateType.GENERAL, "DE", null, "1.0.0", 10),
+            rule("IR-AT-1", Type.INVALIDATION, RuleCertificateType.VACCINATION, "AT", "W", "1.0.0", 10),
+            rule("IR-DE-1", Type.INVALIDATION, RuleCertificateType.VACCINATION, "DE", null, "1.0.0", 10),
+            rule("RR-DE-1", Type.ACCEPTANCE, RuleCertificateType.RECOVERY, "DE", null, "1.0.0", 10),
+            rule("VR-AT-1", Type.ACCEPTANCE, RuleCertificateType.VACCINATION, "AT", null, "1.0.0", 10),
+            rule("VR-DE-1", Type.ACCEPTANCE, RuleCertificateType.VACCINATION, "DE", null, "1.0.0", 10),
+            rule("VR-DE-BY", Type.ACCEPTANCE, RuleCertificateType.VACCINATION, "DE", "BY", "1.0.0", 10),
+            rule("VR-DE-HH", Type.ACCEPTANCE, RuleCertificateType.VACCINATION, "DE", "HH", "1.0.0", 10)));
+
+        assertEquals(List.of("GR-DE-1", "IR-AT-1", "VR-DE-1"),
+            identifiers(ruleIndex.applicableRules("DE", null, "AT", RuleCertificateType.VACCINATION, CLOCK, null)));
+        assertEquals(List.of("GR-DE-1", "IR-AT-1", "VR-DE-1", "VR-DE-BY"),
+            identifiers(ruleIndex.applicableRules("de", "by", "at", RuleCertificateType.VACCINATION, CLOCK, null)));
+        assertEquals(List.of("GR-DE-1", "RR-DE-1"),
+            identifiers(ruleIndex.applicableRules("DE", "", "AT", RuleCertificateType.RECOVERY, CLOCK, null)));
+        assertEquals(List.of("GR-DE-1"),
+            identifiers(ruleIndex.applicableRules("DE", "", "FR", null, CLOCK, null)));
+        assertEquals(List.of(),
+            identifiers(ruleIndex.applicableRules("XX", "", "YYY", RuleCertificateType.TEST, CLOCK, null)));
+    }
+
+    @Test
+    void latestVersionValidAtClock() {
+        List<Rule> rules = new ArrayList<>();
+        rules.add(rule("VR-DE-1", Type.ACCEPTANCE, RuleCertificateType.VACCINATION, "DE", null, "1.0.0", 400));
+        rules.add(rule("VR-DE-1", Type.ACCEPTANCE, RuleCertificateType.VACCINATION, "DE", null, "1.0.3", 300));
+        rules.add(rule("VR-DE-1", Type.ACCEPTANCE, RuleCertificateType.VACCINATION, "DE", null, "1.0.2", 200));
+        rules.add(rule("VR-DE-1", Type.ACCEPTANCE, RuleCertificateType.VACCINATION, "DE", null, "1.0.4", -30));
+        rules.add(rule("VR-DE-1", Type.ACCEPTANCE, RuleCertificateType.VACCINATION, "DE", null, "0.0.8", 500));
+        RuleIndex ruleIndex = RuleIndex.of(rules);
+
+        assertEquals(List.of("1.0.3"), versions(ruleIndex.applicableRules("DE", null, "DE",
+            RuleCertificateType.VACCINATION, CLOCK, null)));
+        assertEquals(List.of("1.0.4"), versions(ruleIndex.applicableRules("DE", null, "DE",
+            RuleCertificateType.VACCINATION, CLOCK.plusDays(30), null)));
+        assertEquals(List.of("1.0.0"), versions(ruleIndex.applicableRules("DE", null, "DE",
+            RuleCertificateType.VACCINATION, CLOCK.minusDays(350), null)));
+        assertEquals(List.of("0.0.8"), versions(ruleIndex.applicableRules("DE", null, "DE",
+            RuleCertificateType.VACCINATION, CLOCK.minusDays(450), null)));
+        assertEquals(List.of(), versions(ruleIndex.applicableRules("DE", null, "DE",
+            RuleCertificateType.VACCINATION, CLOCK.minusDays(501), null)));
+    }
+
+    @Test
+    void keepTiesAndUnparsableVersions() {
+        RuleIndex ruleIndex = RuleIndex.of(List.of(
+            rule("VR-DE-1", Type.ACCEPTANCE, RuleCertificateType.VACCINATION, "DE", null, "1.1.0", 10),
+            rule("VR-DE-1", Type.ACCEPTANCE, RuleCertificateType.VACCINATION, "DE", null, "1.1", 10),
+            rule("VR-DE-1", Type.ACCEPTANCE, RuleCertificateType.VACCINATION, "DE", null, "1.0.0", 10),
+            rule("VR-DE-1", Type.ACCEPTANCE, RuleCertificateType.VACCINATION, "DE", null, "1.1.0", 5),
+            rule("VR-DE-2", Type.ACCEPTANCE, RuleCertificateType.VACCINATION, "DE", null, "1.0.0", 10),
+            rule("VR-DE-2", Type.ACCEPTANCE, RuleCertificateType.VACCINATION, "DE", null, "1.0.0", 10),
+            rule("VR-DE-2", Type.ACCEPTANCE, RuleCertificateType.VACCINATION, "DE", null, "2.0.0", 10),
+            rule("VR-DE-3", Type.ACCEPTANCE, RuleCertificateType.VACCINATION, "DE", null, "1", 10),
+            rule("VR-DE-3", Type.ACCEPTANCE, RuleCertificateType.VACCINATION, "DE", null, "1.0.0", 10),
+            rule("VR-DE-3", Type.ACCEPTANCE, RuleCertificateType.VACCINATION, "DE", null, "2.0.0", 10)));
+
+        assertEquals(List.of("1.1.0", "1.1", "1.1.0", "2.0.0", "1", "2.0.0"),
+            versions(ruleIndex.applicableRules("DE", null, "DE", RuleCertificateType.VACCINATION, CLOCK, null)));
+        assertNull(RuleIndex.parseVersion("1.1"));
+        assertNull(RuleIndex.parseVersion("1.0.0-beta"));
+        assertArrayEquals(new int[] {1, 2, 3}, RuleIndex.parseVersion("1.2.3.4"));
+    }
+
+    @Test
+    void specializeForLatestValueSetVersion() throws Exception {
+        JsonNode logic = new ObjectMapper().readTree("{\"in\":[\"a\",{\"var\":\"external.valueSets.vs\"}]}");
+        Rule compiled = CompiledLogic.compile(withLogic(
+            rule("VR-DE-1", Type.ACCEPTANCE, RuleCertificateType.VACCINATION, "DE", null, "1.0.0", 10), logic));
+        RuleIndex ruleIndex = RuleIndex.of(List.of(compiled));
+        ValueSetSnapshot first = ValueSetSnapshot.of(1, Set.of(), Map.of("vs", List.of("a", "b")));
+        ValueSetSnapshot second = ValueSetSnapshot.of(2, Set.of(), Map.of("vs", List.of("b")));
+
+        Rule forFirst = applicableRule(ruleIndex, first);
+        assertSame(forFirst, applicableRule(ruleIndex, first));
+        assertEquals("true", evaluate(forFirst));
+        assertEquals(logic, forFirst.getLogic());
+        assertEquals(1, ruleIndex.getSpecializations());
+
+        Rule forSecond = applicableRule(ruleIndex, second);
+        assertEquals("false", evaluate(forSecond));
+        assertSame(compiled, applicableRule(ruleIndex, first));
+        assertSame(forSecond, applicableRule(ruleIndex, second));
+        assertSame(compiled, applicableRule(ruleIndex, null));
+        assertEquals(2, ruleIndex.getSpecializations());
+    }
+
+    private static Rule applicableRule(RuleIndex ruleIndex, ValueSetSnapshot valueSets) {
+        List<Rule> rules = ruleIndex.applicableRules("DE", null, "DE", RuleCertificateType.VACCINATION, CLOCK,
+            valueSets);
+        assertEquals(1, rules.size());
+        return rules.get(0);
+    }
+
+    private static String evaluate(Rule rule) {
+        return ((CompiledLogic) rule.getLogic()).getExpression().evaluate(JsonNodeFactory.instance.objectNode())
+            .toString();
+    }
+
+    private static Rule withLogic(Rule rule, JsonNode logic) {
+        return new Rule(rule.getIdentifier(), rule.getType(), rule.getVersion(), rule.getSchemaVersion(),
+            rule.getEngine(), rule.getEngineVersion(), rule.getRuleCertificateType(), rule.getDescriptions(),
+            rule.getValidFrom(), rule.getValidTo(), rule.getAffectedString(), logic, rule.getCountryCode(),
+            rule.getRegion());
+    }
+
+    private static Rule rule(String identifier, Type type, RuleCertificateType certificateType, String country,
+                             String region, String version, int validSinceDays) {
+        return new Rule(identifier, type, version, "1.0.0", "CERTLOGIC", "1.0.0", certificateType,
+            new HashMap<>(), CLOCK.minusDays(validSinceDays), CLOCK.plusDays(500), new ArrayList<>(),
+            JsonNodeFactory.instance.booleanNode(true), country, region);
+    }
+
+    private static List<String> identifiers(List<Rule> rules) {
+        return rules.stream().map(Rule::getIdentifier).collect(Collectors.toList());
+    }
+
+    private static List<String> versions(List<Rule> rules) {
+        return rules.stream().map(Rule::getVersion).collect(Collectors.toList());
+    }
+}
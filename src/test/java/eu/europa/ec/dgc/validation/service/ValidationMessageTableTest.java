@@ -0,0 +1,45 @@
+package eu.europa.ec.dgc.validation.service;
+
+import java.util.Locale;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationMessageTableTest {
+
+    @Test
+    void normaliseLanguageTags() {
+        ValidationMessageTable table = new ValidationMessageTable(messageSource());
+
+        assertEquals(Locale.ENGLISH, table.locale(null));
+        assertEquals(Locale.ENGLISH, table.locale(""));
+        assertEquals(Locale.ENGLISH, table.locale("zz"));
+        assertEquals(Locale.GERMAN, table.locale("de"));
+        assertEquals(Locale.GERMAN, table.locale("DE-at"));
+        assertEquals(Locale.FRENCH, table.locale("fr_CA"));
+        assertSame(table.locale("de"), table.locale("de-CH"));
+    }
+
+    @Test
+    void resolveSameMessagesAsMessageSource() {
+        ResourceBundleMessageSource source = messageSource();
+        ValidationMessageTable table = new ValidationMessageTable(source);
+
+        for (DccValidationMessage message : DccValidationMessage.values()) {
+            assertEquals(source.getMessage(message.name(), null, Locale.ENGLISH),
+                table.message(message, table.locale("en")));
+            assertEquals(source.getMessage(message.name(), null, Locale.GERMAN),
+                table.message(message, table.locale("de")));
+            assertEquals(source.getMessage(message.name(), null, Locale.ENGLISH),
+                table.message(message, Locale.forLanguageTag("x-private")));
+        }
+    }
+
+    private static ResourceBundleMessageSource messageSource() {
+        ResourceBundleMessageSource source = new ResourceBundleMessageSource();
+        source.setBasenames("messages/dcc");
+        source.setUseCodeAsDefaultMessage(true);
+        return source;
+    }
+}
@@ -0,0 +1,55 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import java.security.cert.Certificate;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class VerifiedSignatureCacheTest {
+    private static final byte[] COSE = {1, 2, 3};
+    private static final String KID = "8xYtW2837fc=";
+
+    private final VerifiedSignatureCache verifiedSignatureCache = new VerifiedSignatureCache(new DgcConfigProperties());
+    private final Certificate certificate = mock(Certificate.class);
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    @Test
+    void cacheVerifiedSignaturesPerTrustListVersion() {
+        assertSame(certificate, verifiedSignatureCache.get(COSE, KID, 1, verifier(certificate)));
+        assertSame(certificate, verifiedSignatureCache.get(COSE, KID, 1, verifier(certificate)));
+        assertEquals(1, verifications.get());
+
+        verifiedSignatureCache.get(new byte[] {1, 2, 4}, KID, 1, verifier(certificate));
+        verifiedSignatureCache.get(COSE, "AAAAAAAAAAA=", 1, verifier(certificate));
+        assertEquals(3, verifications.get());
+        assertEquals(3, verifiedSignatureCache.size());
+
+        assertSame(certificate, verifiedSignatureCache.get(COSE, KID, 2, verifier(certificate)));
+        assertEquals(4, verifications.get());
+        assertEquals(1, verifiedSignatureCache.size());
+
+        // a lookup that started before the trust list update is neither served nor cached
+        assertNull(verifiedSignatureCache.get(COSE, KID, 1, verifier(null)));
+        assertEquals(5, verifications.get());
+        assertEquals(1, verifiedSignatureCache.size());
+    }
+
+    @Test
+    void failedVerificationsAreNotCached() {
+        assertNull(verifiedSignatureCache.get(COSE, KID, 1, verifier(null)));
+        assertNull(verifiedSignatureCache.get(COSE, KID, 1, verifier(null)));
+        assertEquals(2, verifications.get());
+        assertEquals(0, verifiedSignatureCache.size());
+    }
+
+    private Supplier<Certificate> verifier(Certificate result) {
+        return () -> {
+            verifications.incrementAndGet();
+            return result;
+        };
+    }
+}
@@ -0,0 +1,188 @@
+package eu.europa.ec.dgc.validation.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dgca.verifier.app.engine.data.Rule;
+import dgca.verifier.app.engine.data.RuleCertificateType;
+import eu.europa.ec.dgc.validation.certlogic.CompiledLogic;
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.entity.BusinessRuleEntity;
+import eu.europa.ec.dgc.validation.restapi.dto.BusinessRuleListItemDto;
+import eu.europa.ec.dgc.validation.service.ApplicableRules;
+import eu.europa.ec.dgc.validation.service.BusinessRuleService;
+import eu.europa.ec.dgc.validation.service.BusinessRulesUpdatedEvent;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class DgcgRulesCacheTest {
+    private static final ZonedDateTime CLOCK = ZonedDateTime.parse("2021-08-29T12:00:00+01:00");
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private BusinessRuleService businessRuleService;
+    private DgcgRulesCache rulesCache;
+    private String template;
+    private final List<BusinessRuleListItemDto> stored = new ArrayList<>();
+    private final Map<String, BusinessRuleEntity> entities = new HashMap<>();
+
+    @BeforeEach
+    void setup() throws Exception {
+        objectMapper.registerModule(new JavaTimeModule());
+        template = new String(getClass().getResourceAsStream("/testrule.json").readAllBytes(), StandardCharsets.UTF_8);
+        businessRuleService = mock(BusinessRuleService.class);
+        doReturn(stored).when(businessRuleService).getBusinessRulesList();
+        doAnswer(invocation -> {
+            List<BusinessRuleEntity> found = new ArrayList<>();
+            for (String hash : invocation.<Collection<String>>getArgument(0)) {
+                if (entities.containsKey(hash)) {
+                    found.add(entities.get(hash));
+                }
+            }
+            return found;
+        }).when(businessRuleService).getBusinessRulesByHashes(any());
+        rulesCache = new DgcgRulesCache(businessRuleService, objectMapper, new DgcConfigProperties());
+    }
+
+    @Test
+    void provideRulesOfArrivalAndIssuerCountry() throws Exception {
+        store("VR-DE-2", "DE");
+        store("VR-AT-1", "AT");
+        store("IR-AT-1", "AT", "Invalidation");
+        store("VR-DE-1", "DE");
+        store("VR-FR-1", "FR");
+        stored.sort((a, b) -> a.getIdentifier().compareTo(b.getIdentifier()));
+
+        assertEquals(List.of("IR-AT-1", "VR-DE-1", "VR-DE-2"), identifiers(rules("DE", "AT")));
+        assertEquals(List.of("VR-DE-1", "VR-DE-2"), identifiers(rules("de", "DE")));
+        assertEquals(List.of("VR-FR-1"), identifiers(rules("FR", "IT")));
+
+        verify(businessRuleService, times(1)).getBusinessRulesList();
+        verify(businessRuleService, times(1)).getBusinessRulesByHashes(any());
+        assertEquals(5, rulesCache.getParsedRules());
+        assertEquals(1, rulesCache.getVersion());
+        assertEquals(1, rulesCache.getReloads());
+    }
+
+    @Test
+    void rebuildOnlyWhenStoredRulesChanged() throws Exception {
+        store("VR-DE-1", "DE");
+        assertEquals(1, applicableRules("DE", "DE").getVersion());
+
+        rulesCache.refresh();
+        assertEquals(1, rulesCache.getVersion());
+
+        store("VR-DE-2", "DE");
+        rulesCache.onBusinessRulesUpdated(new BusinessRulesUpdatedEvent());
+        assertEquals(2, rulesCache.getVersion());
+        assertEquals(2, applicableRules("DE", "DE").getVersion());
+        assertEquals(2, rulesCache.getReloads());
+        assertEquals(2, rulesCache.getRefreshes());
+        assertEquals(List.of("VR-DE-1", "VR-DE-2"), identifiers(rules("DE", "DE")));
+    }
+
+    @Test
+    void parseOnlyNewRules() throws Exception {
+        store("VR-DE-1", "DE");
+        store("VR-DE-2", "DE");
+        List<Rule> before = rules("DE", "DE");
+
+        stored.remove(1);
+        store("VR-DE-3", "DE");
+        rulesCache.refresh();
+
+        List<Rule> after = rules("DE", "DE");
+        assertEquals(List.of("VR-DE-1", "VR-DE-3"), identifiers(after));
+        assertSame(before.get(0), after.get(0));
+        assertEquals(3, rulesCache.getParsedRules());
+        verify(businessRuleService).getBusinessRulesByHashes(List.of("VR-DE-3-hash"));
+    }
+
+    @Test
+    void compileRulesOnceWhenParsed() throws Exception {
+        DgcConfigProperties dgcConfigProperties = new DgcConfigProperties();
+        dgcConfigProperties.getCompiledCertLogic().setEnabled(true);
+        rulesCache = new DgcgRulesCache(businessRuleService, objectMapper, dgcConfigProperties);
+        store("VR-DE-1", "DE");
+        List<Rule> before = rules("DE", "DE");
+
+        store("VR-DE-2", "DE");
+        rulesCache.refresh();
+
+        List<Rule> after = rules("DE", "DE");
+        assertTrue(after.get(0).getLogic() instanceof CompiledLogic);
+        assertTrue(after.get(1).getLogic() instanceof CompiledLogic);
+        assertSame(before.get(0).getLogic(), after.get(0).getLogic());
+        assertEquals(objectMapper.readTree(template).get("Logic"), after.get(0).getLogic());
+    }
+
+    @Test
+    void skipUnparsableRules() throws Exception {
+        store("VR-DE-1", "DE");
+        BusinessRuleEntity broken = new BusinessRuleEntity();
+        broken.setHash("broken");
+        broken.setIdentifier("VR-AT-1");
+        broken.setRawData("{");
+        stored.add(new BusinessRuleListItemDto("VR-AT-1", "1.0.0", "AT", "broken"));
+        entities.put("broken", broken);
+
+        assertEquals(List.of("VR-DE-1"), identifiers(rules("DE", "DE")));
+        assertEquals(1, rulesCache.getSkippedRules());
+
+        store("VR-FR-1", "FR");
+        rulesCache.refresh();
+        assertEquals(2, rulesCache.getVersion());
+        assertEquals(List.of("VR-FR-1"), identifiers(rules("FR", "FR")));
+        assertEquals(List.of(), identifiers(rules("AT", "AT")));
+
+        rulesCache.refresh();
+        assertEquals(2, rulesCache.getVersion());
+    }
+
+    private void store(String identifier, String country) throws Exception {
+        store(identifier, country, "Acceptance");
+    }
+
+    private void store(String identifier, String country, String type) throws Exception {
+        ObjectNode rule = (ObjectNode) objectMapper.readTree(template);
+        rule.put("Identifier", identifier);
+        rule.put("Country", country);
+        rule.put("Type", type);
+        String hash = identifier + "-hash";
+        BusinessRuleEntity entity = new BusinessRuleEntity();
+        entity.setHash(hash);
+        entity.setCountry(country);
+        entity.setIdentifier(identifier);
+        entity.setVersion("1.0.0");
+        entity.setRawData(objectMapper.writeValueAsString(rule));
+        stored.add(new BusinessRuleListItemDto(identifier, "1.0.0", country, hash));
+        entities.put(hash, entity);
+    }
+
+    private List<Rule> rules(String countryOfArrival, String issuerCountry) {
+        return applicableRules(countryOfArrival, issuerCountry).getRules();
+    }
+
+    private ApplicableRules applicableRules(String countryOfArrival, String issuerCountry) {
+        return rulesCache.provideApplicableRules(countryOfArrival, null, issuerCountry,
+            RuleCertificateType.VACCINATION, CLOCK, null);
+    }
+
+    private static List<String> identifiers(List<Rule> rules) {
+        return rules.stream().map(Rule::getIdentifier).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,77 @@
+package eu.europa.ec.dgc.validation.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.europa.ec.dgc.validation.entity.ValueSetEntity;
+import eu.europa.ec.dgc.validation.restapi.dto.ValueSetListItemDto;
+import eu.europa.ec.dgc.validation.service.ValueSetService;
+import eu.europa.ec.dgc.validation.service.ValueSetSnapshot;
+import eu.europa.ec.dgc.validation.service.ValueSetsUpdatedEvent;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class DgcgValueSetCacheTest {
+    private ValueSetService valueSetService;
+    private DgcgValueSetCache valueSetCache;
+    private final List<ValueSetListItemDto> stored = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        valueSetService = mock(ValueSetService.class);
+        doReturn(stored).when(valueSetService).getValueSetsList();
+        store("disease-agent-targeted", "hash1");
+        valueSetCache = new DgcgValueSetCache(new ObjectMapper(), valueSetService);
+    }
+
+    @Test
+    void rebuildOnlyWhenHashesChange() throws Exception {
+        Map<String, List<String>> valueSets = valueSetCache.provideValueSets();
+        assertEquals(List.of("840539006"), valueSets.get("disease-agent-targeted"));
+        assertEquals(1, valueSetCache.getVersion());
+
+        valueSetCache.onValueSetsUpdated(new ValueSetsUpdatedEvent());
+        valueSetCache.refresh();
+        assertSame(valueSets, valueSetCache.provideValueSets());
+        assertEquals(1, valueSetCache.getReloads());
+        verify(valueSetService, times(1)).getValueSetByHash("hash1");
+
+        store("vaccines-covid-19-names", "hash2");
+        valueSetCache.onValueSetsUpdated(new ValueSetsUpdatedEvent());
+        assertEquals(2, valueSetCache.getVersion());
+        assertEquals(2, valueSetCache.size());
+        assertThrows(UnsupportedOperationException.class,
+            () -> valueSetCache.provideValueSets().get("disease-agent-targeted").add("x"));
+    }
+
+    @Test
+    void snapshotValueSets() throws Exception {
+        ValueSetSnapshot snapshot = valueSetCache.provideSnapshot();
+        assertSame(snapshot.getValueSets(), valueSetCache.provideValueSets());
+        assertEquals(new ObjectMapper().readTree("{\"disease-agent-targeted\":[\"840539006\"]}"),
+            snapshot.getValueSetsNode());
+        assertSame(snapshot.getValueSetsNode(), valueSetCache.provideSnapshot().getValueSetsNode());
+        assertEquals(Set.of("hash1"), snapshot.getHashes());
+    }
+
+    private void store(String id, String hash) throws Exception {
+        ValueSetEntity valueSetEntity = new ValueSetEntity();
+        valueSetEntity.setId(id);
+        valueSetEntity.setHash(hash);
+        try (InputStream json = getClass().getResourceAsStream("/valuesets/" + id + ".json")) {
+            valueSetEntity.setRawData(new String(json.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        doReturn(valueSetEntity).when(valueSetService).getValueSetByHash(hash);
+        stored.add(new ValueSetListItemDto(id, hash));
+    }
+}
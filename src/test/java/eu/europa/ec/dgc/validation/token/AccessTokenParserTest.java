@@ -56,7 +56,8 @@ class AccessTokenParserTest {
 
         PublicKey publicKey = ValidationServiceTest.parsePublicKey(ValidationServiceTest.EC_PUBLIC_KEY);
 
-        AccessTokenPayload accessTokenParsed = accessTokenParser.parseToken(accessTokenCompact, publicKey);
+        AccessTokenPayload accessTokenParsed = accessTokenParser.verifyToken(accessTokenCompact, KID_JUNIT,
+            publicKey);
         assertNotNull(accessTokenParsed);
         assertNotNull(accessTokenParsed.getConditions());
     }
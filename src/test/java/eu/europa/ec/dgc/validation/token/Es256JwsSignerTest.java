@@ -0,0 +1,94 @@
+package eu.europa.ec.dgc.validation.token;
+
+import eu.europa.ec.dgc.validation.exception.DccException;
+import eu.europa.ec.dgc.validation.restapi.dto.ResultTypeIdentifier;
+import eu.europa.ec.dgc.validation.restapi.dto.ValidationStatusResponse;
+import eu.europa.ec.dgc.validation.restapi.dto.ValidationStatusResponse.Result.ResultType;
+import eu.europa.ec.dgc.validation.utils.DccSignTestKey;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Es256JwsSignerTest {
+    private PrivateKey privateKey;
+    private PublicKey publicKey;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        privateKey = DccSignTestKey.privateKey();
+        publicKey = DccSignTestKey.certificate().getPublicKey();
+    }
+
+    @Test
+    void signVerifiableWithJjwt() {
+        Es256JwsSigner signer = new Es256JwsSigner(privateKey, "kid1");
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", "subject");
+        claims.put("exp", Instant.now().plusSeconds(60).getEpochSecond());
+        claims.put("category", new String[] {"Standard"});
+
+        String token = signer.sign(claims);
+        Jws<Claims> jws = Jwts.parser().setSigningKey(publicKey).parseClaimsJws(token);
+
+        assertEquals("ES256", jws.getHeader().getAlgorithm());
+        assertEquals("kid1", jws.getHeader().getKeyId());
+        assertEquals("JWT", jws.getHeader().getType());
+        assertEquals("subject", jws.getBody().getSubject());
+        assertEquals(List.of("Standard"), jws.getBody().get("category"));
+        assertEquals(token, signer.sign(claims));
+    }
+
+    @Test
+    void buildResultToken() {
+        ValidationStatusResponse.Result failed = new ValidationStatusResponse.Result();
+        failed.setType(ResultTypeIdentifier.DestinationAcceptance);
+        failed.setResult(ResultType.NOK);
+        ValidationStatusResponse.Result passed = new ValidationStatusResponse.Result();
+        passed.setType(ResultTypeIdentifier.TechnicalVerification);
+        passed.setResult(ResultType.OK);
+        Date expiration = Date.from(Instant.now().plusSeconds(60));
+
+        String token = new ResultTokenBuilder().build(List.of(passed, failed), "subject", "issuer",
+            new String[] {"Standard"}, expiration, new Es256JwsSigner(privateKey, "kid1"), false);
+
+        Claims claims = Jwts.parser().setSigningKey(publicKey).parseClaimsJws(token).getBody();
+        assertEquals("CHK", claims.get("result"));
+        assertEquals("issuer", claims.getIssuer());
+        assertEquals(expiration.toInstant().getEpochSecond(), claims.getExpiration().toInstant().getEpochSecond());
+        assertEquals(1, ((List<?>) claims.get("results")).size());
+        Claims confirmation = Jwts.parser().setSigningKey(publicKey)
+            .parseClaimsJws((String) claims.get("confirmation")).getBody();
+        assertEquals("CHK", confirmation.get("result"));
+        assertEquals("subject", confirmation.getSubject());
+        assertNotNull(confirmation.getId());
+    }
+
+    @Test
+    void rejectNonP256Keys() throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        PrivateKey rsaKey = keyPairGenerator.generateKeyPair().getPrivate();
+        assertThrows(DccException.class, () -> new Es256JwsSigner(rsaKey, "kid1"));
+
+        for (String curve : new String[] {"secp256k1", "brainpoolP256r1", "secp384r1"}) {
+            keyPairGenerator = KeyPairGenerator.getInstance("EC", new BouncyCastleProvider());
+            keyPairGenerator.initialize(new ECGenParameterSpec(curve));
+            PrivateKey ecKey = keyPairGenerator.generateKeyPair().getPrivate();
+            assertThrows(DccException.class, () -> new Es256JwsSigner(ecKey, "kid1"), curve);
+        }
+    }
+}
@@ -7,12 +7,17 @@ import eu.europa.ec.dgc.validation.restapi.dto.ResultTypeIdentifier;
 import eu.europa.ec.dgc.validation.restapi.dto.ValidationStatusResponse;
 import eu.europa.ec.dgc.validation.restapi.dto.ValidationStatusResponse.Result.ResultType;
 import eu.europa.ec.dgc.validation.service.ValidationServiceTest;
+import eu.europa.ec.dgc.validation.utils.DccSignTestKey;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.lang.Assert;
 
 import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
 
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Test;
@@ -111,4 +116,30 @@ public class ResultTokenBuilderTest {
         result.getResults().add(r3);
         Assert.isTrue(ResultTokenBuilder.evaluateResult(result.getResults()) == "CHK");
     }
+
+    @Test
+    void testTokensShareConfirmation() throws Exception {
+        PrivateKey privateKey = DccSignTestKey.privateKey();
+        PublicKey publicKey = DccSignTestKey.certificate().getPublicKey();
+        ValidationStatusResponse.Result r1 = new ValidationStatusResponse.Result();
+        r1.setType(ResultTypeIdentifier.DestinationAcceptance);
+        r1.setResult(ResultType.NOK);
+
+        ResultTokenBuilder.ResultTokens resultTokens = new ResultTokenBuilder().buildTokens(List.of(r1),
+            "subject", "issuer", new String[] {"Standard"}, Date.from(Instant.now().plusSeconds(60)),
+            new Es256JwsSigner(privateKey, "kid1"), true, true);
+
+        Claims claims = Jwts.parser().setSigningKey(publicKey)
+            .parseClaimsJws(resultTokens.getResultToken()).getBody();
+        Claims privacyClaims = Jwts.parser().setSigningKey(publicKey)
+            .parseClaimsJws(resultTokens.getPrivacyResultToken()).getBody();
+        assertEquals(1, ((List<?>) claims.get("results")).size());
+        assertEquals(0, ((List<?>) privacyClaims.get("results")).size());
+        assertEquals("CHK", privacyClaims.get("result"));
+        assertEquals(claims.get("confirmation"), privacyClaims.get("confirmation"));
+
+        assertNull(new ResultTokenBuilder().buildTokens(List.of(r1), "subject", "issuer", new String[] {"Standard"},
+            Date.from(Instant.now().plusSeconds(60)), new Es256JwsSigner(privateKey, "kid1"), true, false)
+            .getPrivacyResultToken());
+    }
 }
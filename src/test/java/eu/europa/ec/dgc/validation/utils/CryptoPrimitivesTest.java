@@ -0,0 +1,43 @@
+package eu.europa.ec.dgc.validation.utils;
+
+import java.security.Security;
+import java.util.concurrent.CompletableFuture;
+import javax.crypto.Cipher;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CryptoPrimitivesTest {
+
+    @Test
+    void reuseInstancesPerThread() throws Exception {
+        long created = CryptoPrimitives.DEFAULT.getInstancesCreated();
+        Cipher cipher = CryptoPrimitives.DEFAULT.cipher("AES/GCM/NoPadding");
+        assertSame(cipher, CryptoPrimitives.DEFAULT.cipher("AES/GCM/NoPadding"));
+        assertNotSame(cipher, CryptoPrimitives.DEFAULT.cipher("AES/CBC/PKCS5Padding"));
+        assertSame(CryptoPrimitives.DEFAULT.signature("SHA256withECDSA"),
+            CryptoPrimitives.DEFAULT.signature("SHA256withECDSA"));
+
+        Cipher otherThreadCipher = CompletableFuture.supplyAsync(() -> {
+            try {
+                return CryptoPrimitives.DEFAULT.cipher("AES/GCM/NoPadding");
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).get();
+        assertNotSame(cipher, otherThreadCipher);
+        assertTrue(CryptoPrimitives.DEFAULT.getInstancesCreated() - created <= 4);
+    }
+
+    @Test
+    void explicitProvider() throws Exception {
+        assertSame(CryptoPrimitives.registerBouncyCastle(), CryptoPrimitives.registerBouncyCastle());
+        assertSame(CryptoPrimitives.BOUNCY_CASTLE.getProvider(),
+            Security.getProvider(BouncyCastleProvider.PROVIDER_NAME));
+        assertEquals(BouncyCastleProvider.PROVIDER_NAME,
+            CryptoPrimitives.BOUNCY_CASTLE.secretKeyFactory("AES").getProvider().getName());
+        assertEquals(BouncyCastleProvider.PROVIDER_NAME,
+            CryptoPrimitives.BOUNCY_CASTLE.cipher("AES/GCM/NoPadding").getProvider().getName());
+    }
+}
@@ -0,0 +1,36 @@
+package eu.europa.ec.dgc.validation.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+
+/**
+ * EC P-256 DSC key (edgc_dev_ec) of the dcc-sign-test.jks test keystore.
+ */
+public final class DccSignTestKey {
+    private static final String KEY_STORE = "/dcc-sign-test.jks";
+    private static final String ALIAS = "edgc_dev_ec";
+    private static final char[] PASSWORD = "dgca".toCharArray();
+
+    private DccSignTestKey() {
+    }
+
+    public static Certificate certificate() throws GeneralSecurityException, IOException {
+        return keyStore().getCertificate(ALIAS);
+    }
+
+    public static PrivateKey privateKey() throws GeneralSecurityException, IOException {
+        return (PrivateKey) keyStore().getKey(ALIAS, PASSWORD);
+    }
+
+    private static KeyStore keyStore() throws GeneralSecurityException, IOException {
+        KeyStore keyStore = KeyStore.getInstance("JKS");
+        try (InputStream is = DccSignTestKey.class.getResourceAsStream(KEY_STORE)) {
+            keyStore.load(is, PASSWORD);
+        }
+        return keyStore;
+    }
+}
@@ -0,0 +1,50 @@
+package eu.europa.ec.dgc.validation.utils;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiringCacheTest {
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void loadOnceUntilExpired() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(10, Duration.ofSeconds(10), now::get);
+        AtomicLong loads = new AtomicLong();
+
+        assertEquals("a", cache.get("k", key -> "a" + (loads.incrementAndGet() > 1 ? "2" : "")));
+        assertEquals("a", cache.get("k", key -> "a" + (loads.incrementAndGet() > 1 ? "2" : "")));
+        now.addAndGet(Duration.ofSeconds(11).toNanos());
+        assertEquals("a2", cache.get("k", key -> "a" + (loads.incrementAndGet() > 1 ? "2" : "")));
+
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.getStatistics().getHits());
+        assertEquals(2, cache.getStatistics().getMisses());
+    }
+
+    @Test
+    void evictLeastRecentlyUsed() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(2, Duration.ofSeconds(10), now::get);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+        cache.put("c", "3");
+
+        assertEquals(2, cache.size());
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("3", cache.get("c"));
+    }
+
+    @Test
+    void disabledCache() {
+        ExpiringCache<String, String> cache = new ExpiringCache<>(0, Duration.ofSeconds(10), now::get);
+        cache.put("a", "1");
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,36 @@
+package eu.europa.ec.dgc.validation.utils;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IsoCountryRegistryTest {
+
+    @Test
+    void sameMembershipAsLocale() {
+        for (char c0 = 'A'; c0 <= 'Z'; c0++) {
+            for (char c1 = 'A'; c1 <= 'Z'; c1++) {
+                String code = "" + c0 + c1;
+                assertEquals(Arrays.asList(Locale.getISOCountries()).contains(code),
+                    IsoCountryRegistry.isIsoCountry(code), code);
+            }
+        }
+        assertFalse(IsoCountryRegistry.isIsoCountry("de"));
+        assertFalse(IsoCountryRegistry.isIsoCountry("DEU"));
+        assertFalse(IsoCountryRegistry.isIsoCountry(""));
+        assertFalse(IsoCountryRegistry.isIsoCountry(null));
+    }
+
+    @Test
+    void compareIgnoringCase() {
+        int index = IsoCountryRegistry.indexIgnoreCase("DE");
+        assertEquals(IsoCountryRegistry.index("DE"), index);
+        assertEquals(index, IsoCountryRegistry.indexIgnoreCase("de"));
+        assertNotEquals(index, IsoCountryRegistry.indexIgnoreCase("AT"));
+        assertEquals(-1, IsoCountryRegistry.indexIgnoreCase("D@"));
+        assertEquals(-1, IsoCountryRegistry.indexIgnoreCase("1E"));
+    }
+}